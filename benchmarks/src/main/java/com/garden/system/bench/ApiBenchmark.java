@@ -0,0 +1,44 @@
+package com.garden.system.bench;
+
+import com.garden.system.api.GertenSimulationAPI;
+import com.garden.system.model.GardenAggregates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Read-side API calls over a garden of {@code plants} plants. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiBenchmark {
+    private final GertenSimulationAPI api = new GertenSimulationAPI();
+
+    @Benchmark
+    public Map<String, Object> getPlants(GardenState garden) {
+        return api.getPlants();
+    }
+
+    /** Logs one line per plant, so it runs with logging on (see LogSinkState). */
+    @Benchmark
+    public long getState(GardenState garden, LogSinkState sink) {
+        api.getState();
+        return sink.chars;
+    }
+
+    @Benchmark
+    public GardenAggregates getAggregates(GardenState garden) {
+        return api.getAggregates();
+    }
+}
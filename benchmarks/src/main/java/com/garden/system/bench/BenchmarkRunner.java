@@ -0,0 +1,26 @@
+package com.garden.system.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH command line and always adds the
+ * GC profiler, which reports GC counts/time and allocation rate (gc.alloc.rate.norm = bytes/op).
+ * For allocation call sites, add async-profiler: -prof async:event=alloc
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        boolean hasGc = false;
+        for (ProfilerConfig profiler : cli.getProfilers()) {
+            if (profiler.getKlass().equals("gc") || profiler.getKlass().equals(GCProfiler.class.getName())) hasGc = true;
+        }
+        if (!hasGc) options.addProfiler(GCProfiler.class);
+        new Runner(options.build()).run();
+    }
+}
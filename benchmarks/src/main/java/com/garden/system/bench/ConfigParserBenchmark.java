@@ -0,0 +1,67 @@
+package com.garden.system.bench;
+
+import com.garden.system.util.ConfigParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a garden-config.json style catalog of {@code plants} entries: the regex
+ * parser over the whole String vs the single-pass streaming parser. Run with
+ * {@code -prof gc} to compare allocation per catalog.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ConfigParserBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    public int plants;
+
+    public String json;
+
+    @Setup
+    public void setUp() {
+        json = catalogJson(plants);
+    }
+
+    static String catalogJson(int plants) {
+        String[] types = {"Rose", "Tomato", "Basil", "Cactus", "Sunflower", "Corn", "Tulip"};
+        StringBuilder sb = new StringBuilder(plants * 100).append("{\n  \"plants\": [\n");
+        for (int i = 0; i < plants; i++) {
+            sb.append("    { \"name\": \"Plant ").append(i)
+              .append("\", \"type\": \"").append(types[i % types.length])
+              .append("\", \"waterRequirement\": ").append(5 + i % 20)
+              .append(", \"pests\": [\"aphids\", \"beetles\"] }")
+              .append(i + 1 < plants ? ",\n" : "\n");
+        }
+        return sb.append("  ]\n}\n").toString();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> parsePlants() {
+        return ConfigParser.parsePlants(json);
+    }
+
+    @Benchmark
+    public long streamPlants(Blackhole blackhole) throws IOException {
+        return ConfigParser.streamPlants(new StringReader(json), blackhole::consume);
+    }
+}
@@ -0,0 +1,91 @@
+package com.garden.system.bench;
+
+import com.garden.system.manager.ConcurrentGardenManager;
+import com.garden.system.manager.GardenManager;
+import com.garden.system.sim.GardenGenerator;
+import com.garden.system.util.GardenLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Multi-client throughput: per-plant care through ConcurrentGardenManager's striped
+ * locks versus the same calls behind one global lock. Run with increasing -t to see
+ * scaling, e.g. -t 1, -t 4, -t 8; "mixed" adds one thread firing garden-wide rain.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentionBenchmark {
+    private static final int PLANTS = 100_000;
+
+    private GardenManager manager;
+    private ConcurrentGardenManager striped;
+    private final ReentrantLock globalLock = new ReentrantLock();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        GardenLogger.setEnabled(false);
+        manager = GardenManager.getInstance();
+        manager.clearGarden();
+        GardenGenerator.populate(manager, PLANTS);
+        striped = new ConcurrentGardenManager(manager);
+    }
+
+    @Benchmark
+    public boolean stripedCare() {
+        return care(randomHandle());
+    }
+
+    @Benchmark
+    public boolean globalLockCare() {
+        int handle = randomHandle();
+        globalLock.lock();
+        try {
+            return (handle & 1) == 0 ? manager.healPlant(handle, 5) : manager.waterPlant(handle, 1);
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public boolean mixedCare() {
+        return care(randomHandle());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedRain() {
+        striped.handleRain(1);
+    }
+
+    // clearGarden() starts a new handle generation, so handles come from the store
+    private int randomHandle() {
+        return manager.getStore().handleOf(ThreadLocalRandom.current().nextInt(PLANTS));
+    }
+
+    private boolean care(int handle) {
+        // Alternate heal and water so plants stay alive across iterations
+        return (handle & 1) == 0 ? striped.healPlant(handle, 5) : striped.waterPlant(handle, 1);
+    }
+}
@@ -0,0 +1,40 @@
+package com.garden.system.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Garden-wide event handlers. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GardenManagerBenchmark {
+
+    @Benchmark
+    public void handleRain(GardenState garden) {
+        garden.manager.handleRain(10);
+    }
+
+    @Benchmark
+    public void handleTemperature(GardenState garden) {
+        garden.manager.handleTemperature(95);
+    }
+
+    @Benchmark
+    public void handleParasite(GardenState garden, OutbreakState outbreak) {
+        garden.manager.handleParasite(OutbreakState.PEST);
+    }
+
+    @Benchmark
+    public void performDailyMaintenance(GardenState garden) {
+        garden.manager.performDailyMaintenance();
+    }
+}
@@ -0,0 +1,31 @@
+package com.garden.system.bench;
+
+import com.garden.system.manager.GardenManager;
+import com.garden.system.sim.GardenGenerator;
+import com.garden.system.util.GardenLogger;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A generated garden of {@code plants} plants, rebuilt before every iteration so
+ * deaths and water drift from earlier iterations don't skew later ones.
+ * Logging is off: these benchmarks measure simulation work, not I/O.
+ */
+@State(Scope.Benchmark)
+public class GardenState {
+    @Param({"10", "1000", "100000", "1000000"})
+    public int plants;
+
+    public GardenManager manager;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        GardenLogger.setEnabled(false);
+        manager = GardenManager.getInstance();
+        manager.clearGarden();
+        GardenGenerator.populate(manager, plants);
+    }
+}
@@ -0,0 +1,31 @@
+package com.garden.system.bench;
+
+import com.garden.system.util.GardenLogger;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Logging on, with the benchmark thread's lines captured into a sink that only counts
+ * characters: calls that log pay for filtering and formatting but not for disk I/O.
+ * Not {@link GardenLogger#MUTE}, which isLoggable treats as off. Depends on
+ * {@link GardenState} so it runs after that state's setup has switched logging off.
+ */
+@State(Scope.Thread)
+public class LogSinkState {
+    public long chars;
+
+    @Setup(Level.Iteration)
+    public void setUp(GardenState garden) {
+        GardenLogger.setEnabled(true);
+        GardenLogger.captureThread(line -> chars += line.length());
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        GardenLogger.captureThread(null);
+        GardenLogger.setEnabled(false);
+    }
+}
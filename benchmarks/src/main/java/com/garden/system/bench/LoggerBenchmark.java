@@ -0,0 +1,77 @@
+package com.garden.system.bench;
+
+import com.garden.system.util.AsyncLogWriter;
+import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caller-side cost of GardenLogger.log in sync vs async mode (console echo off), and of
+ * leveled lines below their module's threshold: eager concatenation vs a Supplier.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggerBenchmark {
+    @Param({"sync", "async"})
+    public String mode;
+
+    private Path logFile;
+    // Non-final so the filtered messages can't be constant-folded
+    private String name = "Rose A";
+    private int amount = 10;
+    private int health = 90;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("garden-bench", ".log");
+        GardenLogger.setEnabled(true);
+        GardenLogger.setConsoleEcho(false);
+        GardenLogger.setLogFile(logFile.toString());
+        if (mode.equals("async")) {
+            GardenLogger.enableAsync(1 << 16, AsyncLogWriter.OverflowPolicy.BLOCK, 1);
+        }
+        GardenLogger.setLevel("Plant", Level.WARN);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        GardenLogger.setLevel("Plant", null);
+        GardenLogger.disableAsync();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void log() {
+        GardenLogger.log("WARNING: Rose A water critical. Req: 10, Curr: 31");
+    }
+
+    @Benchmark
+    public void filteredEager() {
+        GardenLogger.log(Level.INFO, "Plant", "ACTION: " + name + " healed by " + amount + " points. Health: " + health + "%");
+    }
+
+    @Benchmark
+    public void filteredSupplier() {
+        GardenLogger.log(Level.INFO, "Plant", () -> "ACTION: " + name + " healed by " + amount + " points. Health: " + health + "%");
+    }
+}
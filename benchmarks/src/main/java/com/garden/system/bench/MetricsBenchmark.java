@@ -0,0 +1,44 @@
+package com.garden.system.bench;
+
+import com.garden.system.metrics.Counter;
+import com.garden.system.metrics.Histogram;
+import com.garden.system.metrics.MetricsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Recording cost of the metrics hot path; gc.alloc.rate.norm should be ~0 B/op. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+    private final Counter counter = MetricsRegistry.global().counter("bench.counter");
+    private final Histogram timer = MetricsRegistry.global().timer("bench.timer");
+    private long value = 1234;
+
+    @Benchmark
+    public void counterIncrement() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public void histogramRecord() {
+        timer.record(value++);
+    }
+
+    @Benchmark
+    public void timerRecordSince() {
+        timer.recordSince(System.nanoTime());
+    }
+}
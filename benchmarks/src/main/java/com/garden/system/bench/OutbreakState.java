@@ -0,0 +1,30 @@
+package com.garden.system.bench;
+
+import com.garden.system.model.PlantStore;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.BitSet;
+
+/**
+ * Keeps pest pressure constant for repeated outbreaks of {@link #PEST}: before each call
+ * the plants it can hit are cured and healed back to full health. Without this, a few
+ * calls kill every vulnerable plant and the rest of the iteration times dead rows.
+ * Invocation-level, so for the smallest gardens JMH's per-call timestamps show.
+ */
+@State(Scope.Benchmark)
+public class OutbreakState {
+    public static final String PEST = "aphids";
+
+    @Setup(Level.Invocation)
+    public void cure(GardenState garden) {
+        PlantStore store = garden.manager.getStore();
+        BitSet vulnerable = store.vulnerablePlants(store.pestIdOf(PEST));
+        for (int i = vulnerable.nextSetBit(0); i >= 0; i = vulnerable.nextSetBit(i + 1)) {
+            store.removePest(i);
+            store.heal(i, 100);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.garden.system.bench;
+
+import com.garden.system.manager.ClimateControlSystem;
+import com.garden.system.manager.HydrationSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Hydration and climate regulation in isolation. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SubsystemBenchmark {
+    private final HydrationSystem hydration = new HydrationSystem();
+    private final ClimateControlSystem climate = new ClimateControlSystem();
+    private final int[] temps = {45, 70, 95, 110};
+    private int tick;
+
+    @Benchmark
+    public void hydrationRegulate(GardenState garden) {
+        hydration.regulate(garden.manager.getStore());
+    }
+
+    @Benchmark
+    public void climateRegulate() {
+        climate.regulate(temps[tick++ & 3]);
+    }
+}
@@ -1,179 +1,384 @@
 package com.garden.system.api;
 
 import com.garden.system.manager.GardenManager;
+import com.garden.system.metrics.Histogram;
+import com.garden.system.metrics.MetricsRegistry;
+import com.garden.system.metrics.MetricsSnapshot;
+import com.garden.system.model.GardenAggregates;
 import com.garden.system.model.Plant;
-import com.garden.system.ui.GardenApp;
+import com.garden.system.persist.GardenSnapshot;
 import com.garden.system.util.ConfigParser;
 import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
 import com.garden.system.util.MonitoringService;
 
-import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class GertenSimulationAPI {
 
-    private GardenManager manager;
-    private final MonitoringService monitoringService = new MonitoringService();
+    // Per-call latency (ns), shared by every garden's API
+    private static final MetricsRegistry METRICS = MetricsRegistry.global();
+    private static final Histogram INITIALIZE = METRICS.timer("api.initializeGarden");
+    private static final Histogram GET_PLANTS = METRICS.timer("api.getPlants");
+    private static final Histogram RAIN = METRICS.timer("api.rain");
+    private static final Histogram TEMPERATURE = METRICS.timer("api.temperature");
+    private static final Histogram PARASITE = METRICS.timer("api.parasite");
+    private static final Histogram DROUGHT = METRICS.timer("api.drought");
+    private static final Histogram WATER = METRICS.timer("api.waterPlant");
+    private static final Histogram HEAL = METRICS.timer("api.healPlant");
+    private static final Histogram REMOVE_PEST = METRICS.timer("api.removePest");
+    private static final Histogram FERTILIZE = METRICS.timer("api.applyFertilizer");
+    private static final Histogram EMERGENCY = METRICS.timer("api.emergencyTreatment");
+    private static final Histogram GET_STATE = METRICS.timer("api.getState");
+    private static final Histogram HEARTBEAT = METRICS.timer("api.heartbeat");
+    private static final Histogram SAVE_SNAPSHOT = METRICS.timer("api.saveSnapshot");
+    private static final Histogram RESTORE_SNAPSHOT = METRICS.timer("api.restoreSnapshot");
+    private static final Histogram IMPORT_PLANTS = METRICS.timer("api.importPlants");
+
+    private final GardenManager manager;
+    private final MonitoringService monitoringService;
     private int simulatedHours = 0; // Each event call represents 1 simulated hour
+    // Called after state changes; the UI hooks its refresh in here (no-op when headless)
+    private Runnable refreshListener = () -> { };
 
+    /** API over the process-wide default garden. */
     public GertenSimulationAPI() {
-        this.manager = GardenManager.getInstance();
+        this(GardenManager.getInstance());
+    }
+
+    /** API over a specific garden (see GardenRegistry); the simulated clock is per API instance. */
+    public GertenSimulationAPI(GardenManager manager) {
+        this.manager = manager;
+        this.monitoringService = new MonitoringService(manager);
+    }
+
+    public void setRefreshListener(Runnable listener) {
+        this.refreshListener = listener == null ? () -> { } : listener;
     }
 
     public void initializeGarden() {
+        long start = System.nanoTime();
         try {
-            GardenLogger.logEvent("INFO", "API", "initializeGarden()");
+            GardenLogger.logEvent(Level.INFO, "API", "initializeGarden()");
             manager.clearGarden();
             simulatedHours = 0;
 
             boolean loaded = loadConfigFromResource();
             if (!loaded) {
                 seedDefaultPlants();
-                GardenLogger.logEvent("INFO", "CONFIG", "Using default hardcoded plant set.");
+                GardenLogger.logEvent(Level.INFO, "CONFIG", "Using default hardcoded plant set.");
             } else {
-                GardenLogger.logEvent("INFO", "CONFIG", "Loaded plants from resources/garden-config.json");
+                GardenLogger.logEvent(Level.INFO, "CONFIG", "Loaded plants from resources/garden-config.json");
             }
 
-            GardenLogger.logEvent("INFO", "API", "Garden initialized");
-            GardenApp.refreshUI();
+            GardenLogger.logEvent(Level.INFO, "API", "Garden initialized");
+            refreshListener.run();
 
         } catch (Exception e) {
-            GardenLogger.logEvent("ERROR", "API", "initializeGarden failed: " + e.getMessage());
+            GardenLogger.logEvent(Level.ERROR, "API", () -> "initializeGarden failed: " + e.getMessage());
+        } finally {
+            INITIALIZE.recordSince(start);
         }
     }
 
+    /** Empties the garden and resets the simulated clock, without loading the default plants. */
+    public void clearGarden() {
+        GardenLogger.logEvent(Level.INFO, "API", "clearGarden()");
+        manager.clearGarden();
+        simulatedHours = 0;
+        refreshListener.run();
+    }
+
     public Map<String, Object> getPlants() {
-        GardenLogger.logEvent("INFO", "API", "getPlants()");
+        long start = System.nanoTime();
+        GardenLogger.logEvent(Level.INFO, "API", "getPlants()");
         List<Plant> plants = manager.getPlants();
         Map<String, Object> result = new HashMap<>();
         result.put("plants", plants.stream().map(Plant::getName).collect(Collectors.toList()));
         result.put("waterRequirement", plants.stream().map(Plant::getWaterRequirement).collect(Collectors.toList()));
         result.put("parasites", plants.stream().map(Plant::getVulnerableTo).collect(Collectors.toList()));
+        GET_PLANTS.recordSince(start);
         return result;
     }
 
     // Pass-through methods
     public void rain(int amount) {
+        long start = System.nanoTime();
         try {
             int safeAmount = Math.max(0, Math.min(amount, 100)); // simple clamp
             advanceClock();
-            GardenLogger.logEvent("INFO", "API", String.format("rain(%d)", safeAmount));
+            GardenLogger.logEvent(Level.INFO, "API", () -> "rain(" + safeAmount + ")");
             manager.handleRain(safeAmount);
-            GardenApp.refreshUI();
+            refreshListener.run();
         } catch (Exception e) {
-            GardenLogger.logEvent("ERROR", "API", "rain failed: " + e.getMessage());
+            GardenLogger.logEvent(Level.ERROR, "API", () -> "rain failed: " + e.getMessage());
+        } finally {
+            RAIN.recordSince(start);
         }
     }
 
     public void temperature(int temp) {
+        long start = System.nanoTime();
         try {
             int safeTemp = Math.max(40, Math.min(temp, 120)); // enforce documented range
             advanceClock();
-            GardenLogger.logEvent("INFO", "API", String.format("temperature(%d)", safeTemp));
+            GardenLogger.logEvent(Level.INFO, "API", () -> "temperature(" + safeTemp + ")");
             manager.handleTemperature(safeTemp);
-            GardenApp.refreshUI();
+            refreshListener.run();
         } catch (Exception e) {
-            GardenLogger.logEvent("ERROR", "API", "temperature failed: " + e.getMessage());
+            GardenLogger.logEvent(Level.ERROR, "API", () -> "temperature failed: " + e.getMessage());
+        } finally {
+            TEMPERATURE.recordSince(start);
         }
     }
 
     public void parasite(String str) {
+        long start = System.nanoTime();
         try {
             String pest = (str == null || str.isBlank()) ? "unknown" : str;
             advanceClock();
-            GardenLogger.logEvent("INFO", "API", String.format("parasite(%s)", pest));
+            GardenLogger.logEvent(Level.INFO, "API", () -> "parasite(" + pest + ")");
             manager.handleParasite(pest);
-            GardenApp.refreshUI();
+            refreshListener.run();
         } catch (Exception e) {
-            GardenLogger.logEvent("ERROR", "API", "parasite failed: " + e.getMessage());
+            GardenLogger.logEvent(Level.ERROR, "API", () -> "parasite failed: " + e.getMessage());
+        } finally {
+            PARASITE.recordSince(start);
         }
     }
 
     public void drought(int amount) {
+        long start = System.nanoTime();
         try {
             int safeAmount = Math.max(0, Math.min(amount, 100)); // simple clamp
             advanceClock();
-            GardenLogger.logEvent("INFO", "API", String.format("drought(%d)", safeAmount));
+            GardenLogger.logEvent(Level.INFO, "API", () -> "drought(" + safeAmount + ")");
             manager.handleDrought(safeAmount);
-            GardenApp.refreshUI();
+            refreshListener.run();
+        } catch (Exception e) {
+            GardenLogger.logEvent(Level.ERROR, "API", () -> "drought failed: " + e.getMessage());
+        } finally {
+            DROUGHT.recordSince(start);
+        }
+    }
+
+    // --- Per-plant care (by name or by integer handle) ---
+
+    /**
+     * Handle for a plant name, or -1 if unknown; use it to skip the name lookup on hot
+     * paths. Handles die when the garden is initialized, cleared or restored from a
+     * snapshot: care calls with an older handle do nothing and return false.
+     */
+    public int getPlantHandle(String name) {
+        return manager.findHandle(name);
+    }
+
+    public boolean waterPlant(String name, int amount) {
+        return waterPlant(manager.findHandle(name), amount);
+    }
+
+    public boolean waterPlant(int handle, int amount) {
+        return careAction(WATER, () -> "waterPlant(" + handle + ", " + amount + ")", () -> manager.waterPlant(handle, amount));
+    }
+
+    public boolean healPlant(String name, int amount) {
+        return healPlant(manager.findHandle(name), amount);
+    }
+
+    public boolean healPlant(int handle, int amount) {
+        return careAction(HEAL, () -> "healPlant(" + handle + ", " + amount + ")", () -> manager.healPlant(handle, amount));
+    }
+
+    public boolean removePest(String name) {
+        return removePest(manager.findHandle(name));
+    }
+
+    public boolean removePest(int handle) {
+        return careAction(REMOVE_PEST, () -> "removePest(" + handle + ")", () -> manager.removePestFromPlant(handle));
+    }
+
+    public boolean applyFertilizer(String name) {
+        return applyFertilizer(manager.findHandle(name));
+    }
+
+    public boolean applyFertilizer(int handle) {
+        return careAction(FERTILIZE, () -> "applyFertilizer(" + handle + ")", () -> manager.applyFertilizerToPlant(handle));
+    }
+
+    public boolean emergencyTreatment(String name) {
+        return emergencyTreatment(manager.findHandle(name));
+    }
+
+    public boolean emergencyTreatment(int handle) {
+        return careAction(EMERGENCY, () -> "emergencyTreatment(" + handle + ")", () -> manager.emergencyTreatmentForPlant(handle));
+    }
+
+    /** {@code call} describes the call for the log; it is only built when logged. */
+    private boolean careAction(Histogram latency, Supplier<String> call, BooleanSupplier action) {
+        long start = System.nanoTime();
+        try {
+            GardenLogger.logEvent(Level.INFO, "API", call);
+            boolean applied = action.getAsBoolean();
+            refreshListener.run();
+            return applied;
         } catch (Exception e) {
-            GardenLogger.logEvent("ERROR", "API", "drought failed: " + e.getMessage());
+            GardenLogger.logEvent(Level.ERROR, "API", () -> call.get() + " failed: " + e.getMessage());
+            return false;
+        } finally {
+            latency.recordSince(start);
         }
     }
 
     public void getState() {
+        long start = System.nanoTime();
         try {
-            GardenLogger.logEvent("INFO", "API", "getState()");
+            GardenLogger.logEvent(Level.INFO, "API", "getState()");
             int day = simulatedHours / 24;
-            GardenLogger.logEvent("INFO", "STATE",
+            GardenLogger.logEvent(Level.INFO, "STATE", () ->
                     String.format("SUMMARY simulatedHours=%d day=%d total=%d alive=%d",
-                            simulatedHours, day, manager.getPlants().size(), manager.getAliveCount()));
-            manager.getPlants().forEach(p -> GardenLogger.logEvent("INFO", "STATE", String.format(
-                    "PLANT name=%s type=%s alive=%s health=%d water=%d/%d pest=%s",
-                    p.getName(), p.getType(), p.isAlive(), p.getHealth(), p.getCurrentWaterLevel(),
-                    p.getWaterRequirement(), p.hasPest() ? p.getCurrentPest() : "none"
-            )));
+                            simulatedHours, day, manager.getStore().size(), manager.getAliveCount()));
+            // One line per plant: skip the whole walk when STATE is filtered out
+            if (GardenLogger.isLoggable(Level.INFO, "STATE")) {
+                manager.getPlants().forEach(p -> GardenLogger.logEvent(Level.INFO, "STATE", String.format(
+                        "PLANT name=%s type=%s alive=%s health=%d water=%d/%d pest=%s",
+                        p.getName(), p.getType(), p.isAlive(), p.getHealth(), p.getCurrentWaterLevel(),
+                        p.getWaterRequirement(), p.hasPest() ? p.getCurrentPest() : "none"
+                )));
+            }
         } catch (Exception e) {
-            GardenLogger.logEvent("ERROR", "API", "getState failed: " + e.getMessage());
+            GardenLogger.logEvent(Level.ERROR, "API", () -> "getState failed: " + e.getMessage());
+        } finally {
+            GET_STATE.recordSince(start);
         }
     }
 
     public void heartbeat(int dayCount) {
+        long start = System.nanoTime();
         try {
             // Periodic check and regulation of water levels
             manager.checkAndRegulate();
-            GardenApp.refreshUI();
+            refreshListener.run();
             monitoringService.heartbeat(dayCount);
         } catch (Exception e) {
-            GardenLogger.logEvent("ERROR", "Monitor", "heartbeat failed: " + e.getMessage());
+            GardenLogger.logEvent(Level.ERROR, "Monitor", () -> "heartbeat failed: " + e.getMessage());
+        } finally {
+            HEARTBEAT.recordSince(start);
         }
     }
 
+    public int getSimulatedHours() {
+        return simulatedHours;
+    }
+
+    /** Moves the clock as if {@code hours} events had run (fast-forward over collapsed events). */
+    public void advanceHours(int hours) {
+        if (hours < 0) throw new IllegalArgumentException("hours must be >= 0: " + hours);
+        simulatedHours += hours;
+    }
+
+    // --- Snapshots ---
+
+    /** Checkpoints every plant, the device states and the simulated clock; returns the file size. */
+    public long saveSnapshot(Path file) throws IOException {
+        return saveSnapshot(file, 0);
+    }
+
+    /** @param journalSequence last EventJournal record applied, for snapshot + journal-tail recovery */
+    public long saveSnapshot(Path file, long journalSequence) throws IOException {
+        long start = System.nanoTime();
+        long bytes = GardenSnapshot.write(file, manager, simulatedHours, journalSequence);
+        GardenLogger.logEvent(Level.INFO, "SNAPSHOT", () -> "Saved " + manager.getStore().size() + " plants (" + bytes + " bytes) to " + file);
+        SAVE_SNAPSHOT.recordSince(start);
+        return bytes;
+    }
+
+    /** Replaces the garden with a snapshot (see GardenSnapshot). */
+    public GardenSnapshot.Restored restoreSnapshot(Path file) throws IOException {
+        long start = System.nanoTime();
+        GardenSnapshot.Restored restored = GardenSnapshot.restore(file, manager);
+        simulatedHours = restored.simulatedHours();
+        GardenLogger.logEvent(Level.INFO, "SNAPSHOT", () -> "Restored " + restored.plants() + " plants at hour " + simulatedHours + " from " + file);
+        refreshListener.run();
+        RESTORE_SNAPSHOT.recordSince(start);
+        return restored;
+    }
+
     public void registerMonitor(MonitoringService.MonitorClient client) {
         monitoringService.registerMonitorClient(client);
     }
 
+    /** Monitor for every {@code everyDays}-th heartbeat; see MonitoringService.registerMonitorClient. */
+    public void registerMonitor(MonitoringService.MonitorClient client, int everyDays, int queueCapacity) {
+        monitoringService.registerMonitorClient(client, everyDays, queueCapacity);
+    }
+
+    public boolean unregisterMonitor(MonitoringService.MonitorClient client) {
+        return monitoringService.unregisterMonitorClient(client);
+    }
+
+    /** This garden's running totals (alive, infested, water, health deciles, pests), read in O(1). */
+    public GardenAggregates getAggregates() {
+        return manager.getAggregates();
+    }
+
+    /** Process-wide metrics (see MonitoringService.metrics). */
+    public MetricsSnapshot getMetrics() {
+        return monitoringService.metrics();
+    }
+
     private void advanceClock() {
         simulatedHours++;
     }
 
+    /**
+     * Adds every plant of a JSON catalog (garden-config.json layout) to the garden,
+     * streaming it so multi-million-plant files never sit in memory as a whole.
+     *
+     * @return number of plants added
+     */
+    public long importPlants(Reader reader) throws IOException {
+        long start = System.nanoTime();
+        long added = ConfigParser.streamPlants(reader, this::addPlant);
+        GardenLogger.logEvent(Level.INFO, "CONFIG", () -> "Imported " + added + " plants");
+        refreshListener.run();
+        IMPORT_PLANTS.recordSince(start);
+        return added;
+    }
+
     private boolean loadConfigFromResource() {
         try (InputStream is = getClass().getResourceAsStream("/garden-config.json")) {
             if (is == null) return false;
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-                String json = reader.lines().collect(Collectors.joining("\n"));
-                List<Map<String, Object>> plants = ConfigParser.parsePlants(json);
-                if (plants == null || plants.isEmpty()) return false;
-                for (Map<String, Object> p : plants) {
-                    String name = (String) p.getOrDefault("name", "Plant");
-                    String type = (String) p.getOrDefault("type", "Generic");
-                    int water = ((Number) p.getOrDefault("waterRequirement", 10)).intValue();
-                    @SuppressWarnings("unchecked")
-                    List<String> pests = (List<String>) p.getOrDefault("pests", Collections.emptyList());
-                    manager.addPlant(new Plant(name, type, water, pests));
-                }
-                return true;
-            }
+            long added = ConfigParser.streamPlants(is, this::addPlant);
+            return added > 0;
         } catch (Exception e) {
-            GardenLogger.log("WARN: Failed to load garden-config.json: " + e.getMessage());
+            // Don't leave a half-loaded catalog under the default plant set
+            manager.clearGarden();
+            GardenLogger.log(Level.WARN, "CONFIG", () -> "WARN: Failed to load garden-config.json: " + e.getMessage());
             return false;
         }
     }
 
+    private void addPlant(ConfigParser.PlantSpec p) {
+        manager.addPlant(p.name(), p.type() == null ? "Generic" : p.type(), p.waterRequirement(), p.pests());
+    }
+
     private void seedDefaultPlants() {
-        manager.addPlant(new Plant("Rose A", "Rose", 10, Arrays.asList("aphids", "beetles")));
-        manager.addPlant(new Plant("Tomato 1", "Tomato", 15, Arrays.asList("worms", "blight")));
-        manager.addPlant(new Plant("Herb Patch", "Basil", 8, Arrays.asList("slugs")));
-        manager.addPlant(new Plant("Desert King", "Cactus", 2, Arrays.asList("rot")));
-        manager.addPlant(new Plant("Sun Glory", "Sunflower", 12, Arrays.asList("birds")));
-        manager.addPlant(new Plant("Gold Corn", "Corn", 20, Arrays.asList("locusts")));
-        manager.addPlant(new Plant("Tulip Field", "Tulip", 10, Arrays.asList("aphids")));
+        manager.addPlant("Rose A", "Rose", 10, Arrays.asList("aphids", "beetles"));
+        manager.addPlant("Tomato 1", "Tomato", 15, Arrays.asList("worms", "blight"));
+        manager.addPlant("Herb Patch", "Basil", 8, Arrays.asList("slugs"));
+        manager.addPlant("Desert King", "Cactus", 2, Arrays.asList("rot"));
+        manager.addPlant("Sun Glory", "Sunflower", 12, Arrays.asList("birds"));
+        manager.addPlant("Gold Corn", "Corn", 20, Arrays.asList("locusts"));
+        manager.addPlant("Tulip Field", "Tulip", 10, Arrays.asList("aphids"));
     }
 }
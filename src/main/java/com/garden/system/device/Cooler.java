@@ -1,23 +1,27 @@
 package com.garden.system.device;
 
 import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
 
 public class Cooler {
     private boolean on;
 
     public void on(int temp) {
         if (!on) {
-            GardenLogger.logEvent("INFO", "Device", "Cooler ON temp=" + temp + "F");
+            GardenLogger.logEvent(Level.INFO, "Device", () -> "Cooler ON temp=" + temp + "F");
         }
         on = true;
     }
 
     public void off() {
         if (on) {
-            GardenLogger.logEvent("INFO", "Device", "Cooler OFF");
+            GardenLogger.logEvent(Level.INFO, "Device", "Cooler OFF");
         }
         on = false;
     }
 
     public boolean isOn() { return on; }
+
+    /** Sets the state without logging a switch (snapshot restore). */
+    public void restore(boolean on) { this.on = on; }
 }
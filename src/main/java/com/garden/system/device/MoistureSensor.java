@@ -1,18 +1,11 @@
 package com.garden.system.device;
 
-import com.garden.system.model.Plant;
-
-import java.util.List;
+import com.garden.system.model.PlantStore;
 
 public class MoistureSensor {
-    public int readAverageMoisture(List<Plant> plants) {
-        if (plants == null || plants.isEmpty()) return 0;
-        int sum = 0;
-        int count = 0;
-        for (Plant p : plants) {
-            sum += p.getCurrentWaterLevel();
-            count++;
-        }
-        return count == 0 ? 0 : sum / count;
+    /** Average water of the alive plants, from the store's running total (O(1)). */
+    public int readAverageMoisture(PlantStore plants) {
+        if (plants == null || plants.getAliveCount() == 0) return 0;
+        return (int) (plants.getTotalWater() / plants.getAliveCount());
     }
 }
@@ -1,9 +1,10 @@
 package com.garden.system.device;
 
 import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
 
 public class PestTrap {
     public void trigger(String pest) {
-        GardenLogger.logEvent("INFO", "Device", "PestTrap triggered for pest=" + pest);
+        GardenLogger.logEvent(Level.INFO, "Device", () -> "PestTrap triggered for pest=" + pest);
     }
 }
@@ -1,20 +1,28 @@
 package com.garden.system.device;
 
 import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
+
+import java.util.function.Supplier;
 
 public class Sprinkler {
     private boolean on;
     private int flowLevel;
 
     public void activate(String target, int level) {
+        activate(() -> target, level);
+    }
+
+    /** As activate(String, int); the target's name is only resolved if the switch is logged. */
+    public void activate(Supplier<String> target, int level) {
         on = true;
         flowLevel = level;
-        GardenLogger.logEvent("INFO", "Device", String.format("Sprinkler ON for %s (+%d units)", target, level));
+        GardenLogger.logEvent(Level.INFO, "Device", () -> "Sprinkler ON for " + target.get() + " (+" + level + " units)");
     }
 
     public void deactivate() {
         if (on) {
-            GardenLogger.logEvent("INFO", "Device", "Sprinkler OFF");
+            GardenLogger.logEvent(Level.INFO, "Device", "Sprinkler OFF");
         }
         on = false;
         flowLevel = 0;
@@ -22,4 +30,10 @@ public class Sprinkler {
 
     public boolean isOn() { return on; }
     public int getFlowLevel() { return flowLevel; }
+
+    /** Sets the state without logging a switch (snapshot restore). */
+    public void restore(boolean on, int flowLevel) {
+        this.on = on;
+        this.flowLevel = flowLevel;
+    }
 }
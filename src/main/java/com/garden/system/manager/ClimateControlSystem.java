@@ -4,6 +4,7 @@ import com.garden.system.device.Cooler;
 import com.garden.system.device.Heater;
 import com.garden.system.device.TempSensor;
 import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
 
 // Module 2: Climate Control System (Heating/Cooling)
 public class ClimateControlSystem {
@@ -17,20 +18,20 @@ public class ClimateControlSystem {
 
     public void regulate(int currentTemp) {
         int sensed = sensor.read(currentTemp);
-        GardenLogger.logEvent("INFO", "Sensor", "Temperature reading=" + sensed + "F");
+        GardenLogger.logEvent(Level.INFO, "Sensor", () -> "Temperature reading=" + sensed + "F");
         
         if (sensed < MIN_TEMP) {
             heater.on(sensed);
             cooler.off();
-            GardenLogger.log("AUTOMATION: Heater activated. Temperature is " + sensed + "F, warming to above " + MIN_TEMP + "F.");
+            GardenLogger.log(Level.INFO, "Climate", () -> "AUTOMATION: Heater activated. Temperature is " + sensed + "F, warming to above " + MIN_TEMP + "F.");
         } else if (sensed > MAX_TEMP) {
             cooler.on(sensed);
             heater.off();
-            GardenLogger.log("AUTOMATION: Cooler activated. Temperature is " + sensed + "F, cooling to below " + MAX_TEMP + "F.");
+            GardenLogger.log(Level.INFO, "Climate", () -> "AUTOMATION: Cooler activated. Temperature is " + sensed + "F, cooling to below " + MAX_TEMP + "F.");
         } else {
             heater.off();
             cooler.off();
-            GardenLogger.log("AUTOMATION: Temperature is " + sensed + "F (within safe range " + MIN_TEMP + "-" + MAX_TEMP + "F). No climate control needed.");
+            GardenLogger.log(Level.INFO, "Climate", () -> "AUTOMATION: Temperature is " + sensed + "F (within safe range " + MIN_TEMP + "-" + MAX_TEMP + "F). No climate control needed.");
         }
     }
 
@@ -46,7 +47,7 @@ public class ClimateControlSystem {
             if (effectiveTemp < MIN_TEMP) {
                 int targetTemp = MIN_TEMP + 1; // Set to 51F (above 50F)
                 effectiveTemp = targetTemp;
-                GardenLogger.log("AUTOMATION: Temperature adjusted from " + currentTemp + "F to " + effectiveTemp + "F (heater active, now above " + MIN_TEMP + "F).");
+                GardenLogger.log(Level.INFO, "Climate", () -> "AUTOMATION: Temperature adjusted from " + currentTemp + "F to " + targetTemp + "F (heater active, now above " + MIN_TEMP + "F).");
             }
         }
         
@@ -55,7 +56,7 @@ public class ClimateControlSystem {
             if (effectiveTemp > MAX_TEMP) {
                 int targetTemp = MAX_TEMP - 1; // Set to 89F (below 90F)
                 effectiveTemp = targetTemp;
-                GardenLogger.log("AUTOMATION: Temperature adjusted from " + currentTemp + "F to " + effectiveTemp + "F (cooler active, now below " + MAX_TEMP + "F).");
+                GardenLogger.log(Level.INFO, "Climate", () -> "AUTOMATION: Temperature adjusted from " + currentTemp + "F to " + targetTemp + "F (cooler active, now below " + MAX_TEMP + "F).");
             }
         }
         
@@ -67,22 +68,31 @@ public class ClimateControlSystem {
     public void turnHeaterOn() {
         heater.on(70); // Manual override acts as if temp is 70
         cooler.off();
-        GardenLogger.log("MANUAL: Heater forced ON by user.");
+        GardenLogger.log(Level.INFO, "Climate", "MANUAL: Heater forced ON by user.");
     }
 
     public void turnHeaterOff() {
         heater.off();
-        GardenLogger.log("MANUAL: Heater forced OFF by user.");
+        GardenLogger.log(Level.INFO, "Climate", "MANUAL: Heater forced OFF by user.");
     }
 
     public void turnCoolerOn() {
         cooler.on(70); // Manual override acts as if temp is 70
         heater.off();
-        GardenLogger.log("MANUAL: Cooler forced ON by user.");
+        GardenLogger.log(Level.INFO, "Climate", "MANUAL: Cooler forced ON by user.");
     }
 
     public void turnCoolerOff() {
         cooler.off();
-        GardenLogger.log("MANUAL: Cooler forced OFF by user.");
+        GardenLogger.log(Level.INFO, "Climate", "MANUAL: Cooler forced OFF by user.");
     }
-}
\ No newline at end of file
+
+    public boolean isHeaterOn() { return heater.isOn(); }
+    public boolean isCoolerOn() { return cooler.isOn(); }
+
+    /** Snapshot restore: sets both devices without logging switches. */
+    public void restore(boolean heaterOn, boolean coolerOn) {
+        heater.restore(heaterOn);
+        cooler.restore(coolerOn);
+    }
+}
@@ -0,0 +1,164 @@
+package com.garden.system.manager;
+
+import com.garden.system.model.PlantSnapshot;
+import com.garden.system.model.PlantStore;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe front for a GardenManager shared by several clients at once.
+ *
+ * Per-plant operations lock only the stripe that owns the plant, so clients caring
+ * for different plants run in parallel. Garden-wide events (weather, pests,
+ * maintenance, planting, clearing) take every stripe in index order, which acts as
+ * a write barrier: they see no per-plant operation in flight and run exactly as
+ * they would single-threaded. Plant rows are striped in blocks of 16 so rows that
+ * share a cache line also share a lock.
+ *
+ * All access to the wrapped manager must go through this class while it is in use.
+ */
+public class ConcurrentGardenManager {
+    private static final int ROWS_PER_BLOCK_SHIFT = 4;
+
+    private final GardenManager manager;
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public ConcurrentGardenManager(GardenManager manager) {
+        this(manager, Math.max(16, 4 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    /** @param stripes lock count, rounded up to a power of two */
+    public ConcurrentGardenManager(GardenManager manager, int stripes) {
+        this.manager = manager;
+        int n = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[n];
+        for (int i = 0; i < n; i++) this.stripes[i] = new ReentrantLock();
+        this.mask = n - 1;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    // --- Garden-wide events (exclusive) ---
+
+    public void handleRain(int amount) {
+        exclusive(() -> manager.handleRain(amount));
+    }
+
+    public void handleDrought(int intensity) {
+        exclusive(() -> manager.handleDrought(intensity));
+    }
+
+    public void handleTemperature(int temp) {
+        exclusive(() -> manager.handleTemperature(temp));
+    }
+
+    public void handleParasite(String pestName) {
+        exclusive(() -> manager.handleParasite(pestName));
+    }
+
+    public void performDailyMaintenance() {
+        exclusive(manager::performDailyMaintenance);
+    }
+
+    public void checkAndRegulate() {
+        exclusive(manager::checkAndRegulate);
+    }
+
+    /** Returns the new plant's handle. */
+    public int addPlant(String name, String type, int waterRequirement, List<String> vulnerableTo) {
+        return exclusive(() -> manager.handleOf(manager.addPlant(name, type, waterRequirement, vulnerableTo)));
+    }
+
+    public void clearGarden() {
+        exclusive(manager::clearGarden);
+    }
+
+    // --- Per-plant operations (one stripe) ---
+
+    public boolean waterPlant(int handle, int amount) {
+        return onPlant(handle, () -> manager.waterPlant(handle, amount));
+    }
+
+    public boolean healPlant(int handle, int amount) {
+        return onPlant(handle, () -> manager.healPlant(handle, amount));
+    }
+
+    public boolean removePestFromPlant(int handle) {
+        return onPlant(handle, () -> manager.removePestFromPlant(handle));
+    }
+
+    public boolean applyFertilizerToPlant(int handle) {
+        return onPlant(handle, () -> manager.applyFertilizerToPlant(handle));
+    }
+
+    public boolean emergencyTreatmentForPlant(int handle) {
+        return onPlant(handle, () -> manager.emergencyTreatmentForPlant(handle));
+    }
+
+    public boolean waterPlant(String name, int amount) {
+        return waterPlant(findHandle(name), amount);
+    }
+
+    public boolean healPlant(String name, int amount) {
+        return healPlant(findHandle(name), amount);
+    }
+
+    /** Handle lookup; indices only change under the exclusive lock, so any stripe suffices. */
+    public int findHandle(String name) {
+        ReentrantLock lock = stripes[(name == null ? 0 : name.hashCode()) & mask];
+        lock.lock();
+        try {
+            return manager.findHandle(name);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Consistent copy of one plant, or null for an unknown handle. */
+    public PlantSnapshot snapshot(int handle) {
+        return onPlant(handle, () -> {
+            int row = manager.getStore().rowOf(handle);
+            return row >= 0 ? manager.getStore().snapshot(row) : null;
+        });
+    }
+
+    public long getAliveCount() {
+        // Atomic counter in the store; no lock needed
+        return manager.getAliveCount();
+    }
+
+    // --- Locking ---
+
+    private <T> T onPlant(int handle, Supplier<T> action) {
+        // Striped by row; a stale handle only picks some stripe and is then rejected
+        ReentrantLock lock = stripes[((handle & PlantStore.HANDLE_ROW_MASK) >>> ROWS_PER_BLOCK_SHIFT) & mask];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void exclusive(Runnable action) {
+        exclusive(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T exclusive(Supplier<T> action) {
+        int locked = 0;
+        try {
+            for (; locked < stripes.length; locked++) stripes[locked].lock();
+            return action.get();
+        } finally {
+            while (locked > 0) stripes[--locked].unlock();
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.garden.system.manager;
+
+/** On/off state of a garden's devices, as saved in snapshots. */
+public record DeviceState(boolean heaterOn, boolean coolerOn, boolean sprinklerOn, int sprinklerFlow) { }
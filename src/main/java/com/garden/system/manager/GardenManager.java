@@ -1,89 +1,209 @@
 package com.garden.system.manager;
 
+import com.garden.system.metrics.Histogram;
+import com.garden.system.metrics.MetricsRegistry;
+import com.garden.system.model.GardenAggregates;
 import com.garden.system.model.Plant;
+import com.garden.system.model.PlantStore;
+import com.garden.system.model.SymbolRegistry;
 import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+
+/**
+ * Owns one garden's plants and subsystems. getInstance() is the process-wide default
+ * garden used by the JavaFX app and headless runner; GardenRegistry creates further
+ * independent instances. Not thread-safe: all calls must come from one thread at a time
+ * (SimulationService's draining thread), or be wrapped in a ConcurrentGardenManager when
+ * several clients drive the garden at once.
+ */
 public class GardenManager {
-    private static GardenManager instance;
-    private List<Plant> gardenPlants;
+    // Event latency (ns) across every garden; includes the fused per-row regulation
+    private static final Histogram MAINTENANCE = MetricsRegistry.global().timer("manager.performDailyMaintenance");
+    private static final Histogram RAIN = MetricsRegistry.global().timer("manager.handleRain");
+    private static final Histogram DROUGHT = MetricsRegistry.global().timer("manager.handleDrought");
+    private static final Histogram TEMPERATURE = MetricsRegistry.global().timer("manager.handleTemperature");
+    private static final Histogram PARASITE = MetricsRegistry.global().timer("manager.handleParasite");
+
+    // Columnar plant state; replaced (not reset) on clear so stale Plant views never alias new rows
+    private PlantStore store;
+
+    // Lookup indices, kept in step with addPlant/clearGarden.
+    // Duplicate names: the first plant planted under a name keeps it; later ones are reachable by handle only.
+    private Map<String, Integer> nameIndex = new HashMap<>();
+    private Map<String, BitSet> typeIndex = new HashMap<>();
+
+    // Set when plants were added or the garden was cleared (UI rebuilds its card list)
+    private boolean layoutChanged = true;
 
     // Subsystems
     private HydrationSystem hydrationSystem;
     private ClimateControlSystem climateSystem;
     private PestDefenseSystem pestSystem;
+    // Splits per-plant updates across cores for large gardens
+    private final TickEngine tickEngine = new TickEngine();
 
-    private GardenManager() {
-        gardenPlants = new ArrayList<>();
+    public GardenManager() {
+        store = new PlantStore();
         hydrationSystem = new HydrationSystem();
         climateSystem = new ClimateControlSystem();
         pestSystem = new PestDefenseSystem();
     }
 
+    // Initialization-on-demand holder: lazy, and the JVM's class init makes it race-free
+    private static final class Holder {
+        private static final GardenManager INSTANCE = new GardenManager();
+    }
+
     public static GardenManager getInstance() {
-        if (instance == null) instance = new GardenManager();
-        return instance;
+        return Holder.INSTANCE;
     }
 
+    /** Empties the garden. Handles handed out so far stop resolving (see PlantStore.handleOf). */
     public void clearGarden() {
-        gardenPlants.clear();
+        PlantStore empty = new PlantStore();
+        empty.setGeneration(store.generation() + 1);
+        store = empty;
+        nameIndex = new HashMap<>();
+        typeIndex = new HashMap<>();
+        layoutChanged = true;
+    }
+
+    /**
+     * Replaces every plant with a restored store (snapshot load) and rebuilds the
+     * name/type indices. Duplicate names resolve to the first row, as when planted.
+     * Like clearGarden, it starts a new handle generation.
+     */
+    public void restoreGarden(PlantStore restored) {
+        restored.setGeneration(store.generation() + 1);
+        store = restored;
+        nameIndex = new HashMap<>();
+        typeIndex = new HashMap<>();
+        BitSet[] byTypeId = new BitSet[SymbolRegistry.global().typeCount()];
+        for (int id = 0, n = restored.size(); id < n; id++) {
+            if (restored.hasStoredName(id)) nameIndex.putIfAbsent(restored.name(id), id);
+            int typeId = restored.typeId(id);
+            if (byTypeId[typeId] == null) byTypeId[typeId] = new BitSet();
+            byTypeId[typeId].set(id);
+        }
+        for (int typeId = 0; typeId < byTypeId.length; typeId++) {
+            if (byTypeId[typeId] != null) typeIndex.put(SymbolRegistry.global().typeName(typeId), byTypeId[typeId]);
+        }
+        layoutChanged = true;
+    }
+
+    /**
+     * Puts the garden back in a saved handle generation, so handles recorded in a journal
+     * after that save resolve again when it is replayed (recovery only).
+     */
+    public void resumeGeneration(int generation) {
+        store.setGeneration(generation);
+    }
+
+    /** Copies the (possibly detached) plant into the garden and returns the garden's view of it. */
+    public Plant addPlant(Plant p) {
+        return registerPlant(store.copyRow(p.getStore(), p.getId()));
+    }
+
+    public Plant addPlant(String name, String type, int waterRequirement, List<String> vulnerableTo) {
+        return registerPlant(store.add(name, type, waterRequirement, vulnerableTo));
     }
 
-    public void addPlant(Plant p) {
-        gardenPlants.add(p);
+    private Plant registerPlant(int id) {
+        // Rows without a stored name resolve their derived "Type #id" name without an index entry
+        if (store.hasStoredName(id)) {
+            String name = store.name(id);
+            Integer existing = nameIndex.putIfAbsent(name, id);
+            if (existing != null) {
+                GardenLogger.log(Level.WARN, "Garden", () -> "WARNING: Duplicate plant name '" + name + "' (handle " + store.handleOf(id)
+                        + "). Name lookups keep using the first plant (handle " + store.handleOf(existing) + ").");
+            }
+        }
+        typeIndex.computeIfAbsent(store.typeName(id), t -> new BitSet()).set(id);
+        layoutChanged = true;
+        return new Plant(store, id);
+    }
+
+    public TickEngine getTickEngine() {
+        return tickEngine;
+    }
+
+    public PlantStore getStore() {
+        return store;
+    }
+
+    /** Plants whose state may have changed since the last call; clears the set. */
+    public List<Plant> drainDirtyPlants() {
+        int[] rows = store.drainDirty();
+        List<Plant> drained = new ArrayList<>(rows.length);
+        for (int row : rows) drained.add(new Plant(store, row));
+        return drained;
+    }
+
+    /** True once after plants were added or the garden was cleared. */
+    public boolean consumeLayoutChange() {
+        boolean changed = layoutChanged;
+        layoutChanged = false;
+        return changed;
     }
 
+    /** Live view over the store; Plant objects are created on access. */
     public List<Plant> getPlants() {
-        return gardenPlants;
+        return store.asList();
     }
 
     public long getAliveCount() {
-        return gardenPlants.stream().filter(Plant::isAlive).count();
+        return store.getAliveCount();
+    }
+
+    /** Alive/infested counts, water totals and health histogram, maintained as plants change (O(1)). */
+    public GardenAggregates getAggregates() {
+        return store.aggregates();
     }
 
     // --- Simulation Interaction Methods ---
+    // Rain, drought, heat and daily maintenance each run as one fused pass: per plant,
+    // the environment effect and reaction, then hydration regulation, with health
+    // re-evaluated by every water change. Rows are independent, so this leaves every
+    // plant in the same state as the old effect-pass-then-regulation-pass; the log now
+    // groups each plant's lines together instead of by phase.
 
     /**
      * Called once per day cycle to simulate base metabolism.
      */
     public void performDailyMaintenance() {
-        // 1. Apply Water Loss
-        for (Plant p : gardenPlants) {
-            if (p.isAlive()) {
-                p.adjustWater(-1);
-            }
-        }
-        // GardenLogger.log("MAINTENANCE: Daily water evaporation (-1) applied.");
-
-        // 2. Trigger Automation
+        // 1. Apply Water Loss, 2. Trigger Automation
         // Note: With the new HydrationSystem tolerance, this won't refill immediately
         // unless the water is CRITICALLY low.
-        checkAndRegulate();
+        long start = System.nanoTime();
+        runFused((plants, i) -> plants.adjustWater(i, -1));
+        MAINTENANCE.recordSince(start);
+        // GardenLogger.log("MAINTENANCE: Daily water evaporation (-1) applied.");
     }
 
     public void handleRain(int amount) {
-        GardenLogger.log("EVENT: Raining " + amount + " units.");
-        for (Plant p : gardenPlants) {
-            if (p.isAlive()) p.adjustWater(amount);
-        }
-        // Trigger automation to fix over-watering immediately
-        checkAndRegulate();
+        GardenLogger.log(Level.INFO, "Garden", () -> "EVENT: Raining " + amount + " units.");
+        long start = System.nanoTime();
+        // Automation fixes over-watering immediately
+        runFused((plants, i) -> plants.adjustWater(i, amount));
+        RAIN.recordSince(start);
     }
 
     public void handleDrought(int intensity) {
-        GardenLogger.log("EVENT: Drought condition! Water levels dropping by " + intensity + " units.");
-        for (Plant p : gardenPlants) {
-            if (p.isAlive()) {
-                p.adjustWater(-intensity);
-            }
-        }
-        checkAndRegulate();
+        GardenLogger.log(Level.INFO, "Garden", () -> "EVENT: Drought condition! Water levels dropping by " + intensity + " units.");
+        long start = System.nanoTime();
+        runFused((plants, i) -> plants.adjustWater(i, -intensity));
+        DROUGHT.recordSince(start);
     }
 
     public void handleTemperature(int temp) {
-        GardenLogger.log("EVENT: Temperature changed to " + temp + "F.");
+        long start = System.nanoTime();
+        GardenLogger.log(Level.INFO, "Garden", () -> "EVENT: Temperature changed to " + temp + "F.");
 
         // --- Calculate Evaporation based on Heat ---
         int evaporation = 0;
@@ -95,34 +215,39 @@ public class GardenManager {
             evaporation = 1; // Warm
         }
 
-        if (evaporation > 0) {
-            GardenLogger.log("ENVIRONMENT: Heat (" + temp + "F) caused extra evaporation (-" + evaporation + " water).");
+        int loss = evaporation;
+        if (loss > 0) {
+            GardenLogger.log(Level.INFO, "Garden", () -> "ENVIRONMENT: Heat (" + temp + "F) caused extra evaporation (-" + loss + " water).");
         }
 
         climateSystem.regulate(temp);
 
-        for (Plant p : gardenPlants) {
-            if (p.isAlive()) {
-                p.updateTemperatureReaction(temp);
-                if (evaporation > 0) {
-                    p.adjustWater(-evaporation);
-                }
+        runFused((plants, i) -> {
+            plants.updateTemperatureReaction(i, temp);
+            if (loss > 0) {
+                plants.adjustWater(i, -loss);
             }
-        }
+        });
+        TEMPERATURE.recordSince(start);
+    }
 
-        checkAndRegulate();
+    /** One traversal: the event's effect on a row, then regulation of that row while it's still in cache. */
+    private void runFused(TickEngine.RowTask effect) {
+        tickEngine.forEachAlive(store, (plants, i) -> {
+            effect.apply(plants, i);
+            if (plants.isAlive(i)) hydrationSystem.regulate(plants, i);
+        });
     }
 
     public void handleParasite(String pestName) {
-        GardenLogger.log("EVENT: Parasite '" + pestName + "' detected.");
-        pestSystem.deployDefense(pestName, gardenPlants);
-        for (Plant p : gardenPlants) {
-            if (p.isAlive()) p.attack(pestName);
-        }
+        GardenLogger.log(Level.INFO, "Garden", () -> "EVENT: Parasite '" + pestName + "' detected.");
+        long start = System.nanoTime();
+        pestSystem.handleOutbreak(pestName, store);
+        PARASITE.recordSince(start);
     }
 
     public void checkAndRegulate() {
-        hydrationSystem.regulate(gardenPlants);
+        hydrationSystem.regulate(store);
     }
 
     // --- Manual Device Controls ---
@@ -143,55 +268,139 @@ public class GardenManager {
         climateSystem.turnCoolerOff();
     }
 
-    // --- Manual intervention methods for individual plants ---
-    public Plant findPlantByName(String name) {
-        for (Plant p : gardenPlants) {
-            if (p.getName().equals(name)) {
-                return p;
+    public DeviceState getDeviceState() {
+        return new DeviceState(climateSystem.isHeaterOn(), climateSystem.isCoolerOn(),
+                hydrationSystem.isSprinklerOn(), hydrationSystem.getSprinklerFlow());
+    }
+
+    /** Sets the devices as saved, without logging switches. */
+    public void restoreDeviceState(DeviceState state) {
+        climateSystem.restore(state.heaterOn(), state.coolerOn());
+        hydrationSystem.restore(state.sprinklerOn(), state.sprinklerFlow());
+    }
+
+    // --- Lookups ---
+
+    /**
+     * Integer handle (plant id plus garden generation) for a name, or -1 if unknown.
+     * Handles stay valid until clearGarden() or restoreGarden(), so callers can skip the
+     * string lookup on repeat calls; after that they are rejected (care calls return false).
+     */
+    public int findHandle(String name) {
+        if (name == null) return -1;
+        Integer id = nameIndex.get(name);
+        if (id != null) return store.handleOf(id);
+
+        // Generated plants are named "Type #id" and are not indexed
+        int hash = name.lastIndexOf(" #");
+        if (hash >= 0) {
+            try {
+                int row = Integer.parseInt(name.substring(hash + 2));
+                if (row >= 0 && row < store.size() && !store.hasStoredName(row) && store.name(row).equals(name)) {
+                    return store.handleOf(row);
+                }
+            } catch (NumberFormatException ignored) {
+                // not a generated name
             }
         }
-        return null;
+        return -1;
+    }
+
+    public boolean isValidHandle(int handle) {
+        return store.rowOf(handle) >= 0;
+    }
+
+    /** Handle for a plant of this garden (e.g. the one addPlant returned). */
+    public int handleOf(Plant plant) {
+        return store.handleOf(plant.getId());
+    }
+
+    public Plant getPlant(int handle) {
+        int row = store.rowOf(handle);
+        return row >= 0 ? new Plant(store, row) : null;
+    }
+
+    /** All plants of a type, in planting order. */
+    public List<Plant> getPlantsByType(String type) {
+        BitSet ids = typeIndex.get(type);
+        if (ids == null) return List.of();
+        List<Plant> result = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            result.add(new Plant(store, id));
+        }
+        return result;
+    }
+
+    // --- Manual intervention methods for individual plants ---
+    public Plant findPlantByName(String name) {
+        return getPlant(findHandle(name));
+    }
+
+    /** Row of a live plant's handle, or -1 for an unknown, stale or dead one. */
+    private int aliveRow(int handle) {
+        int row = store.rowOf(handle);
+        return row >= 0 && store.isAlive(row) ? row : -1;
     }
 
     public boolean removePestFromPlant(String plantName) {
-        Plant plant = findPlantByName(plantName);
-        if (plant != null && plant.isAlive()) {
-            return plant.removePest();
+        return removePestFromPlant(findHandle(plantName));
+    }
+
+    public boolean removePestFromPlant(int handle) {
+        int row = aliveRow(handle);
+        if (row >= 0) {
+            return store.removePest(row);
         }
         return false;
     }
 
     public boolean waterPlant(String plantName, int amount) {
-        Plant plant = findPlantByName(plantName);
-        if (plant != null && plant.isAlive()) {
-            plant.manualWater(amount);
+        return waterPlant(findHandle(plantName), amount);
+    }
+
+    public boolean waterPlant(int handle, int amount) {
+        int row = aliveRow(handle);
+        if (row >= 0) {
+            store.manualWater(row, amount);
             return true;
         }
         return false;
     }
 
     public boolean healPlant(String plantName, int amount) {
-        Plant plant = findPlantByName(plantName);
-        if (plant != null && plant.isAlive()) {
-            plant.heal(amount);
+        return healPlant(findHandle(plantName), amount);
+    }
+
+    public boolean healPlant(int handle, int amount) {
+        int row = aliveRow(handle);
+        if (row >= 0) {
+            store.heal(row, amount);
             return true;
         }
         return false;
     }
 
     public boolean applyFertilizerToPlant(String plantName) {
-        Plant plant = findPlantByName(plantName);
-        if (plant != null && plant.isAlive()) {
-            plant.applyFertilizer();
+        return applyFertilizerToPlant(findHandle(plantName));
+    }
+
+    public boolean applyFertilizerToPlant(int handle) {
+        int row = aliveRow(handle);
+        if (row >= 0) {
+            store.applyFertilizer(row);
             return true;
         }
         return false;
     }
 
     public boolean emergencyTreatmentForPlant(String plantName) {
-        Plant plant = findPlantByName(plantName);
-        if (plant != null && plant.isAlive()) {
-            plant.emergencyTreatment();
+        return emergencyTreatmentForPlant(findHandle(plantName));
+    }
+
+    public boolean emergencyTreatmentForPlant(int handle) {
+        int row = aliveRow(handle);
+        if (row >= 0) {
+            store.emergencyTreatment(row);
             return true;
         }
         return false;
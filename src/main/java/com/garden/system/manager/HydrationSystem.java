@@ -2,60 +2,92 @@ package com.garden.system.manager;
 
 import com.garden.system.device.MoistureSensor;
 import com.garden.system.device.Sprinkler;
-import com.garden.system.model.Plant;
+import com.garden.system.metrics.Counter;
+import com.garden.system.metrics.Histogram;
+import com.garden.system.metrics.MetricsRegistry;
+import com.garden.system.model.PlantStore;
 import com.garden.system.util.GardenLogger;
-
-import java.util.List;
+import com.garden.system.util.GardenLogger.Level;
 
 // Module 1: Hydration System
 public class HydrationSystem {
+    // Whole-store passes only; per-row regulation inside events counts toward manager.handle*
+    private static final Histogram REGULATE = MetricsRegistry.global().timer("hydration.regulate");
+    private static final Counter SPRINKLER_ACTIVATIONS = MetricsRegistry.global().counter("hydration.sprinklerActivations");
+    private static final Counter DRAIN_ACTIVATIONS = MetricsRegistry.global().counter("hydration.drainActivations");
+
     private final Sprinkler sprinkler = new Sprinkler();
     private final MoistureSensor sensor = new MoistureSensor();
+    private final Runnable sprinklerOff = sprinkler::deactivate;
 
-    public void regulate(List<Plant> plants) {
+    /**
+     * Regulates the whole store, visiting only the rows outside their band (the store
+     * keeps that set as water changes), so a pass costs O(plants needing action). An
+     * in-band row would only switch the sprinkler off, so when one lies between two
+     * visited rows the switch is made here, and the log reads as if every row was visited.
+     */
+    public void regulate(PlantStore plants) {
         // sensor.readAverageMoisture(plants); // Optional logging
 
-        for (Plant p : plants) {
-            if (!p.isAlive()) continue;
-
-            int currentWater = p.getCurrentWaterLevel();
-            int requirement = p.getWaterRequirement();
+        long start = System.nanoTime();
+        int previous = -1;
+        for (int i = plants.nextOutOfBand(0); i >= 0; i = plants.nextOutOfBand(i + 1)) {
+            if (sprinkler.isOn() && hasAliveBetween(plants, previous, i)) sprinkler.deactivate();
+            regulate(plants, i);
+            previous = i;
+        }
+        if (sprinkler.isOn() && hasAliveBetween(plants, previous, plants.size())) sprinkler.deactivate();
+        REGULATE.recordSince(start);
+    }
 
-            int tolerance = (int) (requirement * 0.4);
-            if (tolerance < 2) tolerance = 2;
+    /** Whether an alive row lies strictly between {@code from} and {@code to}; usually the first one checked. */
+    private static boolean hasAliveBetween(PlantStore plants, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            if (plants.isAlive(i)) return true;
+        }
+        return false;
+    }
 
-            int lowerBound = requirement - tolerance;
+    /**
+     * Regulates one alive row. Called per row from the fused event pipelines, possibly on a
+     * tick-engine worker, so sprinkler switching is routed through TickEngine.inOrder.
+     */
+    public void regulate(PlantStore plants, int i) {
+        int currentWater = plants.waterLevel(i);
+        int requirement = plants.waterRequirement(i);
+        // Band precomputed per plant (PlantStore.setWaterBand)
+        int lowerBound = plants.waterLow(i);
+        int upperBound = plants.waterHigh(i);
 
-            // --- FIX FOR SMALL PLANTS (Cactus) ---
-            // If requirement is small (e.g. 2), lowerBound might be <= 0.
-            // If lowerBound is <= 0, the sprinkler never triggers because water can't go below 0.
-            // We force a minimum trigger point of 1 for any plant that needs water.
-            if (lowerBound < 1 && requirement > 0) {
-                lowerBound = 1;
-            }
+        if (currentWater < lowerBound) {
+            // Activate Sprinklers
+            int needed = requirement - currentWater;
+            int flow = Math.min(5, needed);
+            SPRINKLER_ACTIVATIONS.increment();
 
-            int upperBound = requirement + tolerance;
+            TickEngine.inOrder(() -> sprinkler.activate(() -> plants.name(i), flow));
+            plants.adjustWater(i, flow);
 
-            if (currentWater < lowerBound) {
-                // Activate Sprinklers
-                int needed = requirement - currentWater;
-                int flow = Math.min(5, needed);
+        } else if (currentWater > upperBound) {
+            // Open Drainage
+            int excess = currentWater - upperBound;
+            int drainAmount = Math.min(5, excess);
+            DRAIN_ACTIVATIONS.increment();
 
-                sprinkler.activate(p.getName(), flow);
-                p.adjustWater(flow);
+            GardenLogger.log(Level.INFO, "Hydration", () -> "AUTOMATION: Drainage opened for " + plants.name(i) + " (-" + drainAmount + " units)");
+            plants.adjustWater(i, -drainAmount);
+            TickEngine.inOrder(sprinklerOff);
 
-            } else if (currentWater > upperBound) {
-                // Open Drainage
-                int excess = currentWater - upperBound;
-                int drainAmount = Math.min(5, excess);
+        } else {
+            TickEngine.inOrder(sprinklerOff);
+        }
+    }
 
-                GardenLogger.log("AUTOMATION: Drainage opened for " + p.getName() + " (-" + drainAmount + " units)");
-                p.adjustWater(-drainAmount);
-                sprinkler.deactivate();
+    public boolean isSprinklerOn() { return sprinkler.isOn(); }
+    public int getSprinklerFlow() { return sprinkler.getFlowLevel(); }
 
-            } else {
-                sprinkler.deactivate();
-            }
-        }
+    /** Snapshot restore: sets the sprinkler without logging a switch. */
+    public void restore(boolean sprinklerOn, int flow) {
+        sprinkler.restore(sprinklerOn, flow);
     }
-}
\ No newline at end of file
+}
@@ -1,27 +1,46 @@
 package com.garden.system.manager;
 
 import com.garden.system.device.PestTrap;
-import com.garden.system.model.Plant;
+import com.garden.system.model.PlantStore;
 import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
 
-import java.util.List;
+import java.util.BitSet;
 
 // Module 3: Pest Defense System
 public class PestDefenseSystem {
     private final PestTrap trap = new PestTrap();
 
-    public void deployDefense(String detectedPest, List<Plant> plants) {
-        boolean threatDetected = false;
-        for (Plant p : plants) {
-            if (p.isAlive() && p.getVulnerableTo().contains(detectedPest)) {
-                threatDetected = true;
+    /**
+     * Handles a parasite outbreak in one pass over the plants vulnerable to it
+     * (via the store's pest index): countermeasures heal each one slightly, then the
+     * pest attacks it. Immune plants are not visited; they get one summary line. This
+     * changes outcomes: the old per-plant attack also ran the immune plants' health
+     * check, so an outbreak could hurt or kill a dry or badly watered immune plant.
+     */
+    public void handleOutbreak(String detectedPest, PlantStore plants) {
+        int pestId = plants.pestIdOf(detectedPest);
+        BitSet vulnerable = plants.vulnerablePlants(pestId);
+        long aliveBefore = plants.getAliveCount();
+        long affected = 0;
+
+        // The batch spans first to last vulnerable row, so a rare pest costs a short scan
+        try (PlantStore.Batch batch = plants.openBatch(Math.max(0, vulnerable.nextSetBit(0)), vulnerable.length())) {
+            for (int i = vulnerable.nextSetBit(0); i >= 0; i = vulnerable.nextSetBit(i + 1)) {
+                if (!plants.isAlive(i)) continue;
+                if (affected++ == 0) {
+                    trap.trigger(detectedPest);
+                    GardenLogger.log(Level.INFO, "Pest", () -> "AUTOMATION: Pesticide deployed for " + detectedPest);
+                }
                 // Heal the plant slightly as we deploy countermeasures
-                p.heal(10);
+                plants.heal(i, 10);
+                plants.infest(i, pestId);
             }
         }
-        if (threatDetected) {
-            trap.trigger(detectedPest);
-            GardenLogger.log("AUTOMATION: Pesticide deployed for " + detectedPest);
+
+        long immune = aliveBefore - affected;
+        if (immune > 0) {
+            GardenLogger.log(Level.INFO, "Pest", () -> "INFO: " + immune + " plant(s) immune to " + detectedPest + ".");
         }
     }
 }
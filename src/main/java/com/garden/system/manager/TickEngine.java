@@ -0,0 +1,159 @@
+package com.garden.system.manager;
+
+import com.garden.system.model.PlantStore;
+import com.garden.system.util.GardenLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Runs a per-plant update over every alive row of a store.
+ * Small gardens run sequentially; above the parallelism threshold the rows are split
+ * into fixed chunks processed on a ForkJoinPool. Each chunk buffers its own log lines,
+ * and the buffers are replayed in chunk order afterwards, so the log (and therefore
+ * every alive/dead transition message) comes out exactly as in a sequential run.
+ * Updates that touch shared state (e.g. the sprinkler) go through {@link #inOrder},
+ * which defers them into the same buffer. Each pass runs in one PlantStore batch: every
+ * block or chunk is counted into the store's running totals as soon as it is done.
+ */
+public class TickEngine {
+
+    /** Update for one row. Must only touch that row's state. */
+    public interface RowTask {
+        void apply(PlantStore plants, int row);
+    }
+
+    // Chunk whose rows the current worker thread is processing (null outside forEachAlive chunks)
+    private static final ThreadLocal<ChunkTask> CURRENT_CHUNK = new ThreadLocal<>();
+
+    private final ForkJoinPool pool;
+    private volatile int parallelThreshold = 32_768;
+    private volatile int chunkSize = 8_192;
+    // Sequential passes hand rows to the store's batch in blocks small enough to still be cached
+    private static final int COUNT_BLOCK = 4_096;
+
+    public TickEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TickEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Gardens smaller than this many plants are processed on the calling thread. */
+    public void setParallelThreshold(int plants) {
+        this.parallelThreshold = Math.max(1, plants);
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public void setChunkSize(int plants) {
+        this.chunkSize = Math.max(1, plants);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Runs an action on shared (non-row) state in row order: immediately when called
+     * sequentially, or at merge time, between the chunk's buffered log lines, when called
+     * from a parallel chunk.
+     */
+    public static void inOrder(Runnable action) {
+        ChunkTask chunk = CURRENT_CHUNK.get();
+        if (chunk == null) {
+            action.run();
+        } else {
+            chunk.buffer.add(action);
+        }
+    }
+
+    public void forEachAlive(PlantStore plants, RowTask task) {
+        try (PlantStore.Batch batch = plants.openBatch(0, plants.size())) {
+            run(plants, task, batch);
+        }
+    }
+
+    private void run(PlantStore plants, RowTask task, PlantStore.Batch batch) {
+        int n = plants.size();
+        if (n < parallelThreshold || pool.getParallelism() <= 1) {
+            for (int from = 0; from < n; from += COUNT_BLOCK) {
+                apply(plants, task, batch, from, Math.min(n, from + COUNT_BLOCK));
+            }
+            return;
+        }
+
+        int size = chunkSize;
+        int chunks = (n + size - 1) / size;
+        // Workers inherit a muted caller's silence, so they skip building lines nobody replays
+        boolean muted = GardenLogger.isThreadMuted();
+        List<ChunkTask> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            tasks.add(new ChunkTask(plants, task, batch, c * size, Math.min(n, (c + 1) * size), muted));
+        }
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        // Deterministic merge: replay each chunk's lines and deferred actions in row order
+        for (ChunkTask chunk : tasks) {
+            for (Object entry : chunk.buffer) {
+                if (entry instanceof String line) {
+                    GardenLogger.log(line);
+                } else {
+                    ((Runnable) entry).run();
+                }
+            }
+        }
+    }
+
+    private static void apply(PlantStore plants, RowTask task, PlantStore.Batch batch, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (plants.isAlive(i)) task.apply(plants, i);
+        }
+        batch.count(from, to);
+    }
+
+    /** Leaf task: never forks, so a worker can't interleave another chunk's capture. */
+    private static final class ChunkTask extends RecursiveAction {
+        private final PlantStore plants;
+        private final RowTask task;
+        private final PlantStore.Batch batch;
+        private final int from;
+        private final int to;
+        private final boolean muted;
+        // Log lines (String) and deferred inOrder actions (Runnable), in row order
+        private final List<Object> buffer = new ArrayList<>();
+
+        ChunkTask(PlantStore plants, RowTask task, PlantStore.Batch batch, int from, int to, boolean muted) {
+            this.plants = plants;
+            this.task = task;
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+            this.muted = muted;
+        }
+
+        @Override
+        protected void compute() {
+            Consumer<String> previous = GardenLogger.captureThread(muted ? GardenLogger.MUTE : buffer::add);
+            CURRENT_CHUNK.set(this);
+            try {
+                apply(plants, task, batch, from, to);
+            } finally {
+                CURRENT_CHUNK.remove();
+                GardenLogger.captureThread(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.garden.system.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Monotonic count (LongAdder: cheap and allocation-free even when many threads bump it). */
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    Counter() { }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
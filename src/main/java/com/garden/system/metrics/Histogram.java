@@ -0,0 +1,87 @@
+package com.garden.system.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR-style histogram of non-negative longs (latencies in nanoseconds, or plain
+ * counts): log-linear buckets, 32 per power of two, so any recorded value is reported
+ * within about 3% across the whole long range. Recording is a few atomic adds and
+ * allocates nothing; safe from any number of threads.
+ */
+public final class Histogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+    private final String unit;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(String unit) {
+        this.unit = unit;
+    }
+
+    /** "ns" for timers, "" for plain values. */
+    public String unit() {
+        return unit;
+    }
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(index(value));
+        sum.add(value);
+        long seen = max.get();
+        while (value > seen && !max.compareAndSet(seen, value)) seen = max.get();
+    }
+
+    /** Records the time since {@code startNanos} (a System.nanoTime() reading). */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long top = max.get();
+        return new HistogramSnapshot(unit, count, sum.sum(), top,
+                percentile(copy, count, top, 0.50), percentile(copy, count, top, 0.90),
+                percentile(copy, count, top, 0.99), percentile(copy, count, top, 0.999));
+    }
+
+    private static long percentile(long[] counts, long total, long max, double quantile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highestValue(i), max);
+        }
+        return max;
+    }
+
+    // --- Bucketing ---
+
+    static int index(long value) {
+        if (value < SUB) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        // value >>> shift lies in [SUB, 2 * SUB)
+        return (shift + 1) * SUB + (int) ((value >>> shift) - SUB);
+    }
+
+    static long lowestValue(int index) {
+        if (index < SUB) return index;
+        int shift = index / SUB - 1;
+        return (long) (SUB + index % SUB) << shift;
+    }
+
+    static long highestValue(int index) {
+        return index + 1 < BUCKETS ? lowestValue(index + 1) - 1 : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,10 @@
+package com.garden.system.metrics;
+
+/** Point-in-time view of a Histogram; percentiles are bucket upper bounds (within ~3%). */
+public record HistogramSnapshot(String unit, long count, long sum, long max,
+                                long p50, long p90, long p99, long p999) {
+
+    public double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+}
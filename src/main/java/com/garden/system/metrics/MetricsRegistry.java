@@ -0,0 +1,67 @@
+package com.garden.system.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide named counters, gauges and histograms. Lookups are get-or-create and
+ * meant to happen once: call sites keep the returned metric in a static final field,
+ * so the hot path only records (allocation-free). Names are dotted ("api.rain",
+ * "hydration.regulate"); metrics are shared by every garden in the process.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /** Registers (or replaces) a gauge, read only when a snapshot is taken. */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /** Histogram of durations in nanoseconds (record with {@link Histogram#recordSince}). */
+    public Histogram timer(String name) {
+        return histogram(name, "ns");
+    }
+
+    /** Histogram of plain values (e.g. deaths per day). */
+    public Histogram histogram(String name) {
+        return histogram(name, "");
+    }
+
+    private Histogram histogram(String name, String unit) {
+        Histogram histogram = histograms.computeIfAbsent(name, n -> new Histogram(unit));
+        if (!histogram.unit().equals(unit)) {
+            throw new IllegalArgumentException("Metric '" + name + "' already registered with unit '" + histogram.unit() + "'");
+        }
+        return histogram;
+    }
+
+    /** Current values of every metric, sorted by name. */
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsLong()));
+        Map<String, HistogramSnapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        return new MetricsSnapshot(System.currentTimeMillis(), counterValues, gaugeValues, histogramValues);
+    }
+
+    /** {@link #snapshot()} as text, one metric per line. */
+    public String dump() {
+        return snapshot().toText();
+    }
+}
@@ -0,0 +1,24 @@
+package com.garden.system.metrics;
+
+import java.util.Map;
+
+/** Point-in-time copy of a MetricsRegistry (maps sorted by name). */
+public record MetricsSnapshot(long takenAtMillis, Map<String, Long> counters, Map<String, Long> gauges,
+                              Map<String, HistogramSnapshot> histograms) {
+
+    /** Plain-text dump; timer values are shown in microseconds. */
+    public String toText() {
+        StringBuilder out = new StringBuilder();
+        counters.forEach((name, value) -> out.append(String.format("counter   %-36s %d%n", name, value)));
+        gauges.forEach((name, value) -> out.append(String.format("gauge     %-36s %d%n", name, value)));
+        histograms.forEach((name, h) -> {
+            boolean timer = h.unit().equals("ns");
+            double scale = timer ? 1e3 : 1;
+            String unit = timer ? " us" : "";
+            out.append(String.format("histogram %-36s count=%d mean=%.1f p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%s%n",
+                    name, h.count(), h.mean() / scale, h.p50() / scale, h.p90() / scale,
+                    h.p99() / scale, h.p999() / scale, h.max() / scale, unit));
+        });
+        return out.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package com.garden.system.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running totals of a PlantStore, read in O(1) whatever the garden size. All but
+ * {@code plants} cover alive plants only.
+ *
+ * @param healthBuckets plants per health decile: [0] = 0-9, ..., [9] = 90-100
+ * @param pestCounts    infested plants per pest name (pests with none are omitted)
+ * @param waterDeficit  sum of how far water is below requirement
+ */
+public record GardenAggregates(int plants, long alive, long infested, long totalWater, long waterDeficit,
+                               List<Integer> healthBuckets, Map<String, Long> pestCounts) {
+
+    public double averageWater() {
+        return alive == 0 ? 0 : (double) totalWater / alive;
+    }
+}
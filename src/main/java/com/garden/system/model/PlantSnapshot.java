@@ -0,0 +1,13 @@
+package com.garden.system.model;
+
+/**
+ * Immutable copy of one plant row, safe to hand to another thread (e.g. the FX thread).
+ * {@code pest} is null when the plant is not infested (or is dead).
+ */
+public record PlantSnapshot(int id, String name, String type, int waterRequirement,
+                            int waterLevel, int health, boolean alive, String pest) {
+
+    public boolean hasPest() {
+        return pest != null;
+    }
+}
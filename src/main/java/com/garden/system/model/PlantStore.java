@@ -0,0 +1,943 @@
+package com.garden.system.model;
+
+import com.garden.system.metrics.Counter;
+import com.garden.system.metrics.MetricsRegistry;
+import com.garden.system.persist.SnapshotInput;
+import com.garden.system.persist.SnapshotOutput;
+import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Columnar (struct-of-arrays) storage for every plant in a garden.
+ * Each plant is a row id; its state lives in parallel primitive arrays so the event
+ * handlers stream through contiguous memory instead of chasing Plant objects.
+ * {@link Plant} is a thin view over one row and delegates its behaviour here.
+ */
+public class PlantStore {
+    private static final int INITIAL_CAPACITY = 16;
+    public static final int NO_PEST = -1;
+    public static final int HEALTH_BUCKETS = 10;
+    private static final VarHandle BITMAP_WORD = MethodHandles.arrayElementVarHandle(long[].class);
+    // Plants that died of low health, across every store in the process
+    private static final Counter DEATHS = MetricsRegistry.global().counter("plants.deaths");
+
+    private int size;
+    // Garden generation this store was installed under (see handleOf); 0 for a fresh garden
+    private int generation;
+
+    // --- Columns (indexed by plant id) ---
+    private String[] names;          // null = derived from type + id (saves memory for generated gardens)
+    private int[] typeIds;
+    private int[] waterRequirement;
+    private int[] waterLevel;
+    private int[] health;
+    private boolean[] alive;
+    private int[] pestIds;           // NO_PEST when not infested
+    private long[] vulnerableMask;   // bit i = vulnerable to pest id i (ids < SymbolRegistry.MASK_PESTS)
+    private int[] waterLow;          // hydration band: the sprinkler runs below it,
+    private int[] waterHigh;         // the drain above it (derived from the requirement)
+
+    // Type/pest ids and per-type traits are shared across stores
+    private final SymbolRegistry symbols = SymbolRegistry.global();
+    // Inverted index: pest id -> rows vulnerable to it (built at planting time; covers every pest id)
+    private final List<BitSet> vulnerableByPest = new ArrayList<>();
+
+    // Rows may be updated from several tick-engine workers at once, so the shared
+    // counters and the dirty bitmap use atomic updates
+    private final AtomicInteger aliveCount = new AtomicInteger();
+    // Running totals over alive rows, kept in step by settle() and batches (see openBatch)
+    private final LongAdder infestedCount = new LongAdder();
+    private final LongAdder totalWater = new LongAdder();
+    private final LongAdder waterDeficit = new LongAdder();
+    private final LongAdder[] healthBuckets = newAdders(HEALTH_BUCKETS);
+    // Indexed by pest id; grown under the store's lock when a new pest shows up
+    private volatile LongAdder[] pestCounts = newAdders(0);
+    private final AtomicInteger openBatches = new AtomicInteger();
+    // Rows touched since the last drain (UI refresh); one bit per row
+    private long[] dirtyWords;
+    // Alive rows whose water is outside their hydration band; one bit per row
+    private long[] outOfBandWords;
+
+    public PlantStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public PlantStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        names = new String[capacity];
+        typeIds = new int[capacity];
+        waterRequirement = new int[capacity];
+        waterLevel = new int[capacity];
+        health = new int[capacity];
+        alive = new boolean[capacity];
+        pestIds = new int[capacity];
+        vulnerableMask = new long[capacity];
+        waterLow = new int[capacity];
+        waterHigh = new int[capacity];
+        dirtyWords = new long[(capacity + 63) >>> 6];
+        outOfBandWords = new long[(capacity + 63) >>> 6];
+    }
+
+    // --- Handles ---
+    // A handle is a row id tagged with the garden generation, so one kept across a clear
+    // or restore (each installs a new store with the next generation) is rejected instead
+    // of acting on whichever plant now has that row. In generation 0 it is just the row id.
+
+    public static final int HANDLE_ROW_BITS = 26;
+    public static final int HANDLE_ROW_MASK = (1 << HANDLE_ROW_BITS) - 1;
+    // Generations wrap; the remaining bits below the sign bit keep handles non-negative
+    public static final int GENERATIONS = 1 << (Integer.SIZE - 1 - HANDLE_ROW_BITS);
+
+    public int generation() {
+        return generation;
+    }
+
+    /** Set by GardenManager when it installs this store (taken modulo {@link #GENERATIONS}). */
+    public void setGeneration(int generation) {
+        this.generation = Math.floorMod(generation, GENERATIONS);
+    }
+
+    /** Handle for a row; rows past {@link #HANDLE_ROW_MASK} cannot be handed out. */
+    public int handleOf(int row) {
+        if (row > HANDLE_ROW_MASK) throw new IllegalStateException("Plant id " + row + " is beyond the handle range");
+        return generation << HANDLE_ROW_BITS | row;
+    }
+
+    /** Row a handle refers to, or -1 if it is unknown or from another generation. */
+    public int rowOf(int handle) {
+        if (handle < 0 || handle >>> HANDLE_ROW_BITS != generation) return -1;
+        int row = handle & HANDLE_ROW_MASK;
+        return row < size ? row : -1;
+    }
+
+    /** Append a fresh plant (full health, water at requirement) and return its id. */
+    public int add(String name, String type, int requirement, List<String> vulnerable) {
+        int id = add(name, symbols.internType(type), requirement, 0L);
+        if (vulnerable != null) {
+            for (String pest : vulnerable) {
+                markVulnerable(id, symbols.internPest(pest));
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Append using already interned ids (no string work; used by generators/loaders).
+     * Only pests below {@link SymbolRegistry#MASK_PESTS} can be given in the mask;
+     * use {@link #markVulnerable} for others.
+     */
+    public int add(String name, int typeId, int requirement, long pestMask) {
+        ensureCapacity(size + 1);
+        int id = size++;
+        names[id] = name;
+        typeIds[id] = typeId;
+        waterRequirement[id] = requirement;
+        setWaterBand(id, requirement);
+        waterLevel[id] = requirement;
+        health[id] = 100;
+        alive[id] = true;
+        pestIds[id] = NO_PEST;
+        for (long bits = pestMask; bits != 0; bits &= bits - 1) {
+            markVulnerable(id, Long.numberOfTrailingZeros(bits));
+        }
+        aliveCount.incrementAndGet();
+        settle(id, 0, 0, NO_PEST, false);
+        markDirty(id);
+        return id;
+    }
+
+    public void markVulnerable(int row, int pestId) {
+        if (pestId < SymbolRegistry.MASK_PESTS) vulnerableMask[row] |= 1L << pestId;
+        pestIndex(pestId).set(row);
+    }
+
+    private BitSet pestIndex(int pestId) {
+        while (vulnerableByPest.size() <= pestId) vulnerableByPest.add(new BitSet());
+        return vulnerableByPest.get(pestId);
+    }
+
+    /** Copy one row (including its current state) from another store; returns the new id. */
+    public int copyRow(PlantStore from, int row) {
+        int id = add(from.names[row], from.typeIds[row], from.waterRequirement[row], from.vulnerableMask[row]);
+        for (int pestId = SymbolRegistry.MASK_PESTS; pestId < from.vulnerableByPest.size(); pestId++) {
+            if (from.vulnerableByPest.get(pestId).get(row)) markVulnerable(id, pestId);
+        }
+        int water = waterLevel[id], hp = health[id];
+        waterLevel[id] = from.waterLevel[row];
+        health[id] = from.health[row];
+        pestIds[id] = from.pestIds[row];
+        if (!from.alive[row]) {
+            alive[id] = false;
+            aliveCount.decrementAndGet();
+        }
+        settle(id, water, hp, NO_PEST, true);
+        return id;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= names.length) return;
+        int capacity = Math.max(needed, names.length * 2);
+        names = Arrays.copyOf(names, capacity);
+        typeIds = Arrays.copyOf(typeIds, capacity);
+        waterRequirement = Arrays.copyOf(waterRequirement, capacity);
+        waterLevel = Arrays.copyOf(waterLevel, capacity);
+        health = Arrays.copyOf(health, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        pestIds = Arrays.copyOf(pestIds, capacity);
+        vulnerableMask = Arrays.copyOf(vulnerableMask, capacity);
+        waterLow = Arrays.copyOf(waterLow, capacity);
+        waterHigh = Arrays.copyOf(waterHigh, capacity);
+        dirtyWords = Arrays.copyOf(dirtyWords, (capacity + 63) >>> 6);
+        outOfBandWords = Arrays.copyOf(outOfBandWords, (capacity + 63) >>> 6);
+    }
+
+    // --- Column reads ---
+
+    public int size() { return size; }
+    public int getAliveCount() { return aliveCount.get(); }
+    /** Alive rows with a pest (O(1), like the other running totals below). */
+    public long getInfestedCount() { return infestedCount.sum(); }
+    /** Sum of water over alive rows. */
+    public long getTotalWater() { return totalWater.sum(); }
+    /** Sum over alive rows of how far water is below requirement. */
+    public long getWaterDeficit() { return waterDeficit.sum(); }
+    /** Alive rows per health decile: [0] = 0-9, ..., [9] = 90-100. */
+    public int[] getHealthHistogram() {
+        int[] counts = new int[HEALTH_BUCKETS];
+        for (int b = 0; b < HEALTH_BUCKETS; b++) counts[b] = (int) healthBuckets[b].sum();
+        return counts;
+    }
+    /** Alive rows infested by a pest id. */
+    public long getInfestedCount(int pestId) {
+        LongAdder[] counts = pestCounts;
+        return pestId >= 0 && pestId < counts.length ? counts[pestId].sum() : 0;
+    }
+
+    /** All running totals at once (each is exact; together they are not an atomic snapshot while workers run). */
+    public GardenAggregates aggregates() {
+        Map<String, Long> pests = new TreeMap<>();
+        LongAdder[] counts = pestCounts;
+        for (int pestId = 0; pestId < counts.length; pestId++) {
+            long n = counts[pestId].sum();
+            if (n > 0) pests.put(symbols.pestName(pestId), n);
+        }
+        List<Integer> health = new ArrayList<>(HEALTH_BUCKETS);
+        for (int count : getHealthHistogram()) health.add(count);
+        return new GardenAggregates(size, getAliveCount(), getInfestedCount(), getTotalWater(),
+                getWaterDeficit(), List.copyOf(health), pests);
+    }
+
+    public String name(int row) {
+        String n = names[row];
+        return n != null ? n : typeName(row) + " #" + row;
+    }
+    /** False for rows whose name is derived from type and id. */
+    public boolean hasStoredName(int row) { return names[row] != null; }
+    public String typeName(int row) { return symbols.typeName(typeIds[row]); }
+    public int typeId(int row) { return typeIds[row]; }
+    public int waterRequirement(int row) { return waterRequirement[row]; }
+    public int waterLevel(int row) { return waterLevel[row]; }
+    /** Lowest water level the hydration system leaves alone (see {@link #setWaterBand}). */
+    public int waterLow(int row) { return waterLow[row]; }
+    /** Highest water level the hydration system leaves alone. */
+    public int waterHigh(int row) { return waterHigh[row]; }
+    public int health(int row) { return health[row]; }
+    public boolean isAlive(int row) { return alive[row]; }
+    public int pestId(int row) { return pestIds[row]; }
+    public String pestName(int row) { return pestIds[row] == NO_PEST ? null : symbols.pestName(pestIds[row]); }
+    public boolean hasPest(int row) { return pestIds[row] != NO_PEST && alive[row]; }
+    public long vulnerableMask(int row) { return vulnerableMask[row]; }
+
+    public PlantSnapshot snapshot(int row) {
+        return new PlantSnapshot(handleOf(row), name(row), typeName(row), waterRequirement[row],
+                waterLevel[row], health[row], alive[row], hasPest(row) ? pestName(row) : null);
+    }
+
+    /** Pest names this row is vulnerable to, rebuilt from the mask (and index for high ids). */
+    public List<String> vulnerableTo(int row) {
+        List<String> pests = new ArrayList<>(Long.bitCount(vulnerableMask[row]));
+        for (long bits = vulnerableMask[row]; bits != 0; bits &= bits - 1) {
+            pests.add(symbols.pestName(Long.numberOfTrailingZeros(bits)));
+        }
+        for (int pestId = SymbolRegistry.MASK_PESTS; pestId < vulnerableByPest.size(); pestId++) {
+            if (vulnerableByPest.get(pestId).get(row)) pests.add(symbols.pestName(pestId));
+        }
+        return pests;
+    }
+
+    /** Id of a known pest, or NO_PEST if no plant in this store has ever referenced it. */
+    public int pestIdOf(String pest) {
+        return symbols.lookupPest(pest);
+    }
+
+    /**
+     * Rows vulnerable to a pest (dead ones included). Read-only: the bitset is the
+     * store's own index, so callers must not modify it.
+     */
+    public BitSet vulnerablePlants(int pestId) {
+        return pestId == NO_PEST || pestId >= vulnerableByPest.size() ? new BitSet() : vulnerableByPest.get(pestId);
+    }
+
+    public boolean isVulnerable(int row, int pestId) {
+        if (pestId == NO_PEST) return false;
+        if (pestId < SymbolRegistry.MASK_PESTS) return (vulnerableMask[row] & (1L << pestId)) != 0;
+        return pestId < vulnerableByPest.size() && vulnerableByPest.get(pestId).get(row);
+    }
+
+    /** Live list of row views; views are created on access, so nothing is held per plant. */
+    public List<Plant> asList() {
+        return new PlantList();
+    }
+
+    private class PlantList extends AbstractList<Plant> implements RandomAccess {
+        @Override
+        public Plant get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+            return new Plant(PlantStore.this, index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    // --- Snapshot (see GardenSnapshot for the file layout) ---
+
+    /** Writes every row: the columns, the pest index, then the rows with stored names. */
+    public void writeSnapshot(SnapshotOutput out) throws IOException {
+        int n = size;
+        out.putInt(n);
+        out.putInts(typeIds, n);
+        out.putInts(waterRequirement, n);
+        out.putInts(waterLevel, n);
+        out.putInts(health, n);
+        out.putInts(pestIds, n);
+        out.putLongs(vulnerableMask, n);
+        out.putBooleans(alive, n);
+
+        out.putInt(vulnerableByPest.size());
+        for (BitSet rows : vulnerableByPest) {
+            long[] words = rows.toLongArray();
+            out.putInt(words.length);
+            out.putLongs(words, words.length);
+        }
+
+        int named = 0;
+        for (int i = 0; i < n; i++) {
+            if (names[i] != null) named++;
+        }
+        out.putInt(named);
+        for (int i = 0; i < n; i++) {
+            if (names[i] == null) continue;
+            out.putInt(i);
+            out.putString(names[i]);
+        }
+    }
+
+    /**
+     * Rebuilds a store from {@link #writeSnapshot} output. The remaps translate the
+     * snapshot's type/pest ids to this JVM's symbol ids; when they already match (the
+     * usual case) every column and the pest index are restored as bulk copies.
+     */
+    public static PlantStore readSnapshot(SnapshotInput in, int[] typeRemap, int[] pestRemap) throws IOException {
+        int n = in.getCount(4 * Integer.BYTES);
+        PlantStore store = new PlantStore(n);
+        in.getInts(store.typeIds, n);
+        in.getInts(store.waterRequirement, n);
+        in.getInts(store.waterLevel, n);
+        in.getInts(store.health, n);
+        in.getInts(store.pestIds, n);
+        in.getLongs(store.vulnerableMask, n);
+        in.getBooleans(store.alive, n);
+        store.size = n;
+
+        int typeCount = typeRemap.length;
+        int pestCount = pestRemap.length;
+        if (isIdentity(typeRemap)) typeRemap = null;
+        if (isIdentity(pestRemap)) pestRemap = null;
+        int alive = 0;
+        Tally totals = new Tally();
+        for (int i = 0; i < n; i++) {
+            int type = store.typeIds[i];
+            int pest = store.pestIds[i];
+            if (type < 0 || type >= typeCount || pest < NO_PEST || pest >= pestCount) {
+                throw new IOException("Corrupt snapshot: row " + i + " has an unknown type or pest id");
+            }
+            if (typeRemap != null) store.typeIds[i] = typeRemap[type];
+            if (pestRemap != null && pest != NO_PEST) store.pestIds[i] = pestRemap[pest];
+            store.setWaterBand(i, store.waterRequirement[i]);
+            if (store.alive[i]) {
+                alive++;
+                store.count(totals, i);
+                store.trackBand(i);
+            }
+        }
+        store.aliveCount.set(alive);
+        store.publish(totals);
+
+        // Masks are rebuilt from the index when pest ids moved (a pest may cross MASK_PESTS)
+        if (pestRemap != null) Arrays.fill(store.vulnerableMask, 0, n, 0L);
+        int indexed = in.getCount(Integer.BYTES);
+        if (indexed > pestCount) throw new IOException("Corrupt snapshot: pest index larger than the pest table");
+        for (int pestId = 0; pestId < indexed; pestId++) {
+            long[] words = new long[in.getCount(Long.BYTES)];
+            in.getLongs(words, words.length);
+            BitSet rows = BitSet.valueOf(words);
+            if (rows.length() > n) throw new IOException("Corrupt snapshot: pest index beyond the last row");
+            if (pestRemap == null) {
+                store.vulnerableByPest.add(rows);
+            } else {
+                for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                    store.markVulnerable(row, pestRemap[pestId]);
+                }
+            }
+        }
+
+        int named = in.getCount(2 * Integer.BYTES);
+        for (int k = 0; k < named; k++) {
+            int row = in.getInt();
+            if (row < 0 || row >= n) throw new IOException("Corrupt snapshot: named row " + row + " out of range");
+            store.names[row] = in.getString();
+        }
+        return store;
+    }
+
+    private static boolean isIdentity(int[] remap) {
+        for (int i = 0; i < remap.length; i++) {
+            if (remap[i] != i) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit hash of the state events can change (water, health, alive, pest) over all
+     * rows. Equal gardens hash equal; TimeWarp compares it before and after an event to
+     * spot events that left the garden untouched.
+     */
+    public long fingerprint() {
+        long h = size;
+        for (int i = 0; i < size; i++) {
+            long row = ((long) waterLevel[i] << 32) ^ ((long) health[i] << 8) ^ (alive[i] ? 1 : 0)
+                    ^ ((long) pestIds[i] * 0xC2B2AE3D27D4EB4FL);
+            h = (h ^ row) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+
+    // --- Running totals ---
+
+    /**
+     * Opens a batch over rows {@code [from, to)} for a bulk pass (a tick-engine pass, an
+     * outbreak, a regulation pass). While any batch is open the mutators skip their own
+     * bookkeeping. Instead the batch tallies its rows once they are final and publishes
+     * the difference on close, with one atomic add per total. A batch over part of the
+     * store also tallies the range when opened, to know what to take back out; a batch
+     * over the whole store just recounts. Nothing outside the range may change until the
+     * batch closes (the single-writer rule).
+     */
+    public Batch openBatch(int from, int to) {
+        openBatches.incrementAndGet();
+        return new Batch(this, from, to);
+    }
+
+    public static final class Batch implements AutoCloseable {
+        private final PlantStore store;
+        private final int from;
+        private final int to;
+        private final boolean whole;
+        private final Tally tally = new Tally();
+        private boolean counted;
+        private boolean closed;
+
+        private Batch(PlantStore store, int from, int to) {
+            this.store = store;
+            this.from = from;
+            this.to = to;
+            whole = from == 0 && to == store.size;
+            if (!whole) store.scan(tally, from, to, -1);
+        }
+
+        /**
+         * Tallies rows {@code [from, to)}, which the pass is done with. Passes call it
+         * right after each block or chunk, while its rows are still in cache; the calls
+         * must cover the batch's range exactly once, and may come from several threads.
+         * Without any call, close() tallies the whole range itself.
+         */
+        public void count(int from, int to) {
+            Tally part = new Tally();
+            store.scan(part, from, to, 1);
+            synchronized (this) {
+                tally.add(part);
+                counted = true;
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (closed) return;
+            closed = true;
+            if (!counted) store.scan(tally, from, to, 1);
+            if (whole) store.resetTotals();
+            store.publish(tally);
+            store.openBatches.decrementAndGet();
+        }
+    }
+
+    /** Deltas of the running totals, summed single-threaded and then published. */
+    private static final class Tally {
+        long infested;
+        long water;
+        long deficit;
+        final long[] health = new long[HEALTH_BUCKETS];
+        long[] pests;
+
+        void count(int requirement, int water, int hp, int pest, int sign) {
+            this.water += sign * (long) water;
+            deficit += sign * (long) Math.max(0, requirement - water);
+            health[healthBucket(hp)] += sign;
+            if (pest != NO_PEST) countPest(pest, sign);
+        }
+
+        void add(Tally other) {
+            infested += other.infested;
+            water += other.water;
+            deficit += other.deficit;
+            for (int b = 0; b < HEALTH_BUCKETS; b++) health[b] += other.health[b];
+            if (other.pests == null) return;
+            if (pests == null) pests = new long[other.pests.length];
+            if (pests.length < other.pests.length) pests = Arrays.copyOf(pests, other.pests.length);
+            for (int pestId = 0; pestId < other.pests.length; pestId++) pests[pestId] += other.pests[pestId];
+        }
+
+        void countPest(int pestId, int sign) {
+            infested += sign;
+            if (pests == null) pests = new long[Math.max(8, pestId + 1)];
+            if (pestId >= pests.length) pests = Arrays.copyOf(pests, Math.max(pestId + 1, pests.length * 2));
+            pests[pestId] += sign;
+        }
+    }
+
+    /**
+     * Moves a row's share of the running totals from its state before a mutation
+     * ({@code water}, {@code hp}, {@code pest}, {@code wasAlive}) to its state now, unless
+     * a batch is accounting for the row. Every mutator settles its own change, so nested
+     * calls (heal inside removePest, ...) stay exact.
+     */
+    private void settle(int row, int water, int hp, int pest, boolean wasAlive) {
+        if (openBatches.get() == 0) settleNow(row, water, hp, pest, wasAlive);
+    }
+
+    /** Applies one row's change straight to the shared totals (a handful of adds, no Tally). */
+    private void settleNow(int row, int water, int hp, int pest, boolean wasAlive) {
+        if (!wasAlive || !alive[row]) {
+            // Birth or death: swap the whole contribution (rare)
+            if (wasAlive) publishRow(waterRequirement[row], water, hp, pest, -1);
+            if (alive[row]) publishRow(waterRequirement[row], waterLevel[row], health[row], pestIds[row], 1);
+        } else {
+            int now = waterLevel[row];
+            if (now != water) {
+                totalWater.add(now - water);
+                int requirement = waterRequirement[row];
+                if (now < requirement || water < requirement) {
+                    int deficit = Math.max(0, requirement - now) - Math.max(0, requirement - water);
+                    if (deficit != 0) waterDeficit.add(deficit);
+                }
+            }
+            if (health[row] != hp) {
+                int bucket = healthBucket(health[row]);
+                int oldBucket = healthBucket(hp);
+                if (bucket != oldBucket) {
+                    healthBuckets[oldBucket].decrement();
+                    healthBuckets[bucket].increment();
+                }
+            }
+            if (pestIds[row] != pest) {
+                if (pest != NO_PEST) publishPest(pest, -1);
+                if (pestIds[row] != NO_PEST) publishPest(pestIds[row], 1);
+            }
+        }
+        trackBand(row);
+    }
+
+    /** Adds ({@code sign} 1) or removes (-1) one alive row's state to/from the shared totals. */
+    private void publishRow(int requirement, int water, int hp, int pest, int sign) {
+        totalWater.add(sign * (long) water);
+        if (water < requirement) waterDeficit.add(sign * (long) (requirement - water));
+        healthBuckets[healthBucket(hp)].add(sign);
+        if (pest != NO_PEST) publishPest(pest, sign);
+    }
+
+    private void publishPest(int pestId, int sign) {
+        infestedCount.add(sign);
+        LongAdder[] counts = pestCounts;
+        if (pestId >= counts.length) counts = growPestCounts(pestId);
+        counts[pestId].add(sign);
+    }
+
+    /**
+     * Adds ({@code sign} 1) or removes (-1) the alive rows in {@code [from, to)} to/from a
+     * tally. Adding also rebuilds the rows' out-of-band bits, one bitmap word at a time.
+     */
+    private void scan(Tally tally, int from, int to, int sign) {
+        long water = 0;
+        long deficit = 0;
+        // Most plants sit in the top health bucket: count those in a local, not the array
+        long top = 0;
+        long[] buckets = tally.health;
+        for (int start = from; start < to; ) {
+            int end = Math.min(to, (start | 63) + 1);
+            long outOfBand = 0;
+            for (int i = start; i < end; i++) {
+                if (!alive[i]) continue;
+                int w = waterLevel[i];
+                water += w;
+                int missing = waterRequirement[i] - w;
+                if (missing > 0) deficit += missing;
+                if (w < waterLow[i] || w > waterHigh[i]) outOfBand |= 1L << i;
+                int hp = health[i];
+                if (hp >= 10 * (HEALTH_BUCKETS - 1)) top++;
+                else buckets[healthBucket(hp)] += sign;
+                if (pestIds[i] != NO_PEST) tally.countPest(pestIds[i], sign);
+            }
+            if (sign > 0) setBandWord(start, end, outOfBand);
+            start = end;
+        }
+        tally.water += sign * water;
+        tally.deficit += sign * deficit;
+        buckets[HEALTH_BUCKETS - 1] += sign * top;
+    }
+
+    /** Adds an alive row's current state to a tally. */
+    private void count(Tally tally, int row) {
+        tally.count(waterRequirement[row], waterLevel[row], health[row], pestIds[row], 1);
+    }
+
+    /** Adds a tally's deltas to the shared totals. */
+    private void publish(Tally tally) {
+        if (tally.infested != 0) infestedCount.add(tally.infested);
+        if (tally.water != 0) totalWater.add(tally.water);
+        if (tally.deficit != 0) waterDeficit.add(tally.deficit);
+        for (int b = 0; b < HEALTH_BUCKETS; b++) {
+            if (tally.health[b] != 0) healthBuckets[b].add(tally.health[b]);
+        }
+        if (tally.pests == null) return;
+        for (int pestId = 0; pestId < tally.pests.length; pestId++) {
+            if (tally.pests[pestId] == 0) continue;
+            LongAdder[] counts = pestCounts;
+            if (pestId >= counts.length) counts = growPestCounts(pestId);
+            counts[pestId].add(tally.pests[pestId]);
+        }
+    }
+
+    private void resetTotals() {
+        infestedCount.reset();
+        totalWater.reset();
+        waterDeficit.reset();
+        for (LongAdder bucket : healthBuckets) bucket.reset();
+        for (LongAdder count : pestCounts) count.reset();
+    }
+
+    private synchronized LongAdder[] growPestCounts(int pestId) {
+        LongAdder[] counts = pestCounts;
+        if (pestId < counts.length) return counts;
+        LongAdder[] grown = Arrays.copyOf(counts, Math.max(pestId + 1, counts.length * 2));
+        for (int i = counts.length; i < grown.length; i++) grown[i] = new LongAdder();
+        pestCounts = grown;
+        return grown;
+    }
+
+    private static int healthBucket(int hp) {
+        return Math.min(HEALTH_BUCKETS - 1, Math.max(0, hp) / 10);
+    }
+
+    private static LongAdder[] newAdders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+
+    // --- Hydration band ---
+
+    /**
+     * Precomputes a row's band: requirement +/- 40% (at least 2 units). A positive
+     * requirement never gets a lower bound below 1, or small plants (cacti) would never
+     * trigger the sprinkler, since water can't go below 0.
+     */
+    private void setWaterBand(int row, int requirement) {
+        int tolerance = Math.max(2, (int) (requirement * 0.4));
+        int low = requirement - tolerance;
+        if (low < 1 && requirement > 0) low = 1;
+        waterLow[row] = low;
+        waterHigh[row] = requirement + tolerance;
+    }
+
+    /**
+     * Keeps a row's out-of-band bit in step after a single-row change; only writes
+     * (atomically) when it flips. Batches rebuild the bits in their scans instead.
+     */
+    private void trackBand(int row) {
+        int water = waterLevel[row];
+        boolean out = alive[row] && (water < waterLow[row] || water > waterHigh[row]);
+        long bit = 1L << row;
+        int word = row >>> 6;
+        boolean set = ((long) BITMAP_WORD.getVolatile(outOfBandWords, word) & bit) != 0;
+        if (out == set) return;
+        if (out) {
+            BITMAP_WORD.getAndBitwiseOr(outOfBandWords, word, bit);
+        } else {
+            BITMAP_WORD.getAndBitwiseAnd(outOfBandWords, word, ~bit);
+        }
+    }
+
+    /** Sets the out-of-band bits of rows {@code [from, to)}, all within one bitmap word. */
+    private void setBandWord(int from, int to, long bits) {
+        int word = from >>> 6;
+        long mask = (-1L << from) & (-1L >>> (63 - ((to - 1) & 63)));
+        if (mask == -1L) {
+            BITMAP_WORD.setVolatile(outOfBandWords, word, bits);
+        } else {
+            // A partial word may share rows with another batch's range
+            BITMAP_WORD.getAndBitwiseOr(outOfBandWords, word, bits);
+            BITMAP_WORD.getAndBitwiseAnd(outOfBandWords, word, bits | ~mask);
+        }
+    }
+
+    /**
+     * First alive row at or after {@code from} whose water is outside its band, or -1.
+     * Lets a regulation pass visit only the rows that need the sprinkler or the drain.
+     */
+    public int nextOutOfBand(int from) {
+        if (from >= size) return -1;
+        long[] words = outOfBandWords;
+        int w = from >>> 6;
+        long bits = (long) BITMAP_WORD.getVolatile(words, w) & (-1L << from);
+        while (bits == 0) {
+            if (++w >= words.length) return -1;
+            bits = (long) BITMAP_WORD.getVolatile(words, w);
+        }
+        int row = (w << 6) + Long.numberOfTrailingZeros(bits);
+        return row < size ? row : -1;
+    }
+
+    // --- Dirty tracking ---
+
+    private void markDirty(int row) {
+        long bit = 1L << row;
+        int word = row >>> 6;
+        // Skip the atomic write when already dirty (the common case inside one event)
+        if (((long) BITMAP_WORD.getVolatile(dirtyWords, word) & bit) == 0) {
+            BITMAP_WORD.getAndBitwiseOr(dirtyWords, word, bit);
+        }
+    }
+
+    /** Ids of rows touched since the last call; clears the set. */
+    public int[] drainDirty() {
+        long[] words = dirtyWords;
+        int count = 0;
+        int[] rows = new int[16];
+        for (int w = 0; w < words.length; w++) {
+            if ((long) BITMAP_WORD.getVolatile(words, w) == 0) continue;
+            for (long bits = (long) BITMAP_WORD.getAndSet(words, w, 0L); bits != 0; bits &= bits - 1) {
+                if (count == rows.length) rows = Arrays.copyOf(rows, count * 2);
+                rows[count++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // --- Row behaviour (was Plant's instance logic) ---
+
+    public void adjustWater(int row, int amount) {
+        int water = waterLevel[row], hp = health[row], pest = pestIds[row];
+        boolean wasAlive = alive[row];
+        waterLevel[row] += amount;
+        checkHealth(row);
+        settle(row, water, hp, pest, wasAlive);
+    }
+
+    private void normalizeWaterLevel(int row) {
+        if (waterLevel[row] < 0) {
+            waterLevel[row] = 0;
+        }
+
+        // Small plants need a buffer of at least 3 units or they oscillate too fast
+        int maxWater = Math.max(3, (int)(waterRequirement[row] * 1.5));
+
+        if (waterLevel[row] > maxWater) {
+            int excess = waterLevel[row] - maxWater;
+            waterLevel[row] = maxWater;
+            GardenLogger.log(Level.WARN, "Plant", () -> "WARNING: " + name(row) + " water level exceeded maximum (" + maxWater + "). Excess water (" + excess + " units) drained.");
+        }
+    }
+
+    public boolean isDroughtResistant(int row) {
+        // Precomputed per type by the symbol registry (cactus/sunflower/corn/succulent)
+        return symbols.isDroughtResistant(typeIds[row]);
+    }
+
+    public void attack(int row, String parasite) {
+        int pestId = pestIdOf(parasite);
+        if (isVulnerable(row, pestId)) {
+            infest(row, pestId);
+        } else {
+            GardenLogger.log(Level.INFO, "Plant", () -> "INFO: " + name(row) + " is immune to " + parasite + ".");
+            int water = waterLevel[row], hp = health[row];
+            boolean wasAlive = alive[row];
+            checkHealth(row);
+            settle(row, water, hp, pestIds[row], wasAlive);
+        }
+    }
+
+    /** Attack by a pest the row is known to be vulnerable to (see {@link #vulnerablePlants}). */
+    public void infest(int row, int pestId) {
+        int water = waterLevel[row], hp = health[row], pest = pestIds[row];
+        boolean wasAlive = alive[row];
+        health[row] -= 30;
+        pestIds[row] = pestId;
+        GardenLogger.log(Level.WARN, "Plant", () -> "WARNING: " + name(row) + " (" + typeName(row) + ") attacked by " + symbols.pestName(pestId) + "! Health: " + health[row]);
+        checkHealth(row);
+        settle(row, water, hp, pest, wasAlive);
+    }
+
+    public void updateTemperatureReaction(int row, int temp) {
+        int water = waterLevel[row], hp = health[row];
+        boolean wasAlive = alive[row];
+        if (temp < 40 || temp > 100) {
+            // Cacti love heat, don't hurt them until it's EXTREME (115+)
+            if (isDroughtResistant(row) && temp <= 115) {
+                // No damage for cactus in high heat
+            } else {
+                health[row] -= 10;
+                GardenLogger.log(Level.WARN, "Plant", () -> "WARNING: " + name(row) + " hurting from temp (" + temp + "F).");
+            }
+        }
+        checkHealth(row);
+        settle(row, water, hp, pestIds[row], wasAlive);
+    }
+
+    private void checkHealth(int row) {
+        markDirty(row);
+        normalizeWaterLevel(row);
+
+        // --- UPDATED DEHYDRATION LOGIC ---
+        if (waterLevel[row] == 0) {
+            if (isDroughtResistant(row)) {
+                // Cactus logic: They adapt to 0 water. No damage (or very minimal).
+                GardenLogger.log(Level.INFO, "Plant", () -> "INFO: " + name(row) + " is dry (0 Water) but using stored reserves. No damage taken.");
+            } else {
+                // Normal plants die fast without water
+                int damage = 15;
+                health[row] -= damage;
+                GardenLogger.log(Level.WARN, "Plant", () -> "CRITICAL: " + name(row) + " is completely dehydrated! Taken " + damage + " damage.");
+            }
+        }
+        else {
+            int diff = Math.abs(waterLevel[row] - waterRequirement[row]);
+            // Critical variance check
+            if (diff > 20) {
+                health[row] -= 5;
+                GardenLogger.log(Level.WARN, "Plant", () -> "WARNING: " + name(row) + " water critical. Req: " + waterRequirement[row] + ", Curr: " + waterLevel[row]);
+            }
+        }
+
+        if (health[row] <= 0) {
+            if (alive[row]) {
+                aliveCount.decrementAndGet();
+                DEATHS.increment();
+            }
+            alive[row] = false;
+            health[row] = 0;
+            GardenLogger.log(Level.ERROR, "Plant", () -> "FATAL: " + name(row) + " has died.");
+        }
+    }
+
+    public void optimizeWaterLevel(int row) {
+        if (!alive[row]) return;
+
+        int requirement = waterRequirement[row];
+        int optimalRange = Math.max(1, requirement / 10);
+        int lowerBound = requirement - optimalRange;
+        int upperBound = requirement + optimalRange;
+
+        if (waterLevel[row] < lowerBound) {
+            int needed = lowerBound - waterLevel[row];
+            adjustWater(row, needed);
+            GardenLogger.log(Level.INFO, "Plant", () -> "ACTION: " + name(row) + " water level optimized to healthy range.");
+        } else if (waterLevel[row] > upperBound) {
+            int excess = waterLevel[row] - upperBound;
+            adjustWater(row, -excess);
+            GardenLogger.log(Level.INFO, "Plant", () -> "ACTION: " + name(row) + " excess water (" + excess + " units) removed to maintain health.");
+        }
+    }
+
+    public void heal(int row, int amount) {
+        if (alive[row]) {
+            int hp = health[row];
+            health[row] = Math.min(100, hp + amount);
+            settle(row, waterLevel[row], hp, pestIds[row], true);
+            markDirty(row);
+            optimizeWaterLevel(row);
+            GardenLogger.log(Level.INFO, "Plant", () -> "ACTION: " + name(row) + " healed by " + amount + " points. Health: " + health[row] + "%");
+        }
+    }
+
+    public boolean removePest(int row) {
+        if (pestIds[row] != NO_PEST && alive[row]) {
+            String pest = pestName(row);
+            int pestId = pestIds[row];
+            pestIds[row] = NO_PEST;
+            settle(row, waterLevel[row], health[row], pestId, true);
+            heal(row, 15);
+            GardenLogger.log(Level.INFO, "Plant", () -> "ACTION: Removed " + pest + " from " + name(row) + ". Plant is recovering.");
+            return true;
+        }
+        return false;
+    }
+
+    public void manualWater(int row, int amount) {
+        if (alive[row]) {
+            adjustWater(row, amount);
+            GardenLogger.log(Level.INFO, "Plant", () -> "ACTION: Manually watered " + name(row) + " with " + amount + " units.");
+        }
+    }
+
+    public void applyFertilizer(int row) {
+        if (alive[row]) {
+            heal(row, 20);
+            adjustWater(row, 5);
+            optimizeWaterLevel(row);
+            GardenLogger.log(Level.INFO, "Plant", () -> "ACTION: Applied fertilizer to " + name(row) + ". Health improved!");
+        }
+    }
+
+    public void emergencyTreatment(int row) {
+        if (alive[row] && health[row] < 50) {
+            heal(row, 30);
+            if (pestIds[row] != NO_PEST) {
+                int pestId = pestIds[row];
+                pestIds[row] = NO_PEST;
+                settle(row, waterLevel[row], health[row], pestId, true);
+                markDirty(row);
+            }
+            optimizeWaterLevel(row);
+            GardenLogger.log(Level.INFO, "Plant", () -> "ACTION: Emergency treatment applied to " + name(row) + ". Plant condition improved significantly!");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.garden.system.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide symbol table that interns plant types and pest names to small int ids.
+ * Per-type traits are computed once at interning time, so the per-plant hot path
+ * never touches strings. Ids are stable for the life of the JVM and shared by every
+ * PlantStore, which lets stores copy rows and masks between each other directly.
+ */
+public final class SymbolRegistry {
+    public static final int NONE = -1;
+    /** Pests with ids below this fit in a plant's 64-bit vulnerability mask. */
+    public static final int MASK_PESTS = 64;
+
+    // Trait flags (bitwise OR'd per type)
+    public static final int TRAIT_DROUGHT_RESISTANT = 1;
+
+    private static final SymbolRegistry GLOBAL = new SymbolRegistry();
+
+    private final Map<String, Integer> typeIds = new HashMap<>();
+    private final Map<String, Integer> pestIds = new HashMap<>();
+    private final List<String> typeNames = new ArrayList<>();
+    private final List<String> pestNames = new ArrayList<>();
+    // Copy-on-write so lock-free readers always see a fully built array
+    private volatile int[] typeTraits = new int[0];
+    private volatile String[] typeNameArray = new String[0];
+    private volatile String[] pestNameArray = new String[0];
+
+    public static SymbolRegistry global() {
+        return GLOBAL;
+    }
+
+    // --- Types ---
+
+    public synchronized int internType(String type) {
+        Integer id = typeIds.get(type);
+        if (id != null) return id;
+        int newId = typeNames.size();
+        typeNames.add(type);
+        typeIds.put(type, newId);
+        int[] traits = Arrays.copyOf(typeTraits, newId + 1);
+        traits[newId] = computeTraits(type);
+        String[] names = Arrays.copyOf(typeNameArray, newId + 1);
+        names[newId] = type;
+        typeNameArray = names;
+        typeTraits = traits;
+        return newId;
+    }
+
+    private static int computeTraits(String type) {
+        int traits = 0;
+        if (type != null) {
+            // Cacti, Sunflowers, and Corn are naturally hardy against dry spells
+            String t = type.toLowerCase();
+            if (t.contains("cactus") || t.contains("sunflower") || t.contains("corn") || t.contains("succulent")) {
+                traits |= TRAIT_DROUGHT_RESISTANT;
+            }
+        }
+        return traits;
+    }
+
+    public String typeName(int typeId) {
+        return typeNameArray[typeId];
+    }
+
+    public boolean isDroughtResistant(int typeId) {
+        return (typeTraits[typeId] & TRAIT_DROUGHT_RESISTANT) != 0;
+    }
+
+    public int typeCount() {
+        return typeNameArray.length;
+    }
+
+    // --- Pests ---
+
+    public synchronized int internPest(String pest) {
+        Integer id = pestIds.get(pest);
+        if (id != null) return id;
+        int newId = pestNames.size();
+        pestNames.add(pest);
+        pestIds.put(pest, newId);
+        String[] names = Arrays.copyOf(pestNameArray, newId + 1);
+        names[newId] = pest;
+        pestNameArray = names;
+        return newId;
+    }
+
+    /** Id of an already interned pest, or NONE. Does not register new names. */
+    public synchronized int lookupPest(String pest) {
+        Integer id = pestIds.get(pest);
+        return id == null ? NONE : id;
+    }
+
+    public String pestName(int pestId) {
+        return pestNameArray[pestId];
+    }
+
+    public int pestCount() {
+        return pestNameArray.length;
+    }
+
+    /**
+     * Bitmask for the pests that fit in a mask (ids below {@link #MASK_PESTS}).
+     * Higher ids are only tracked through each store's pest index.
+     */
+    public long maskOf(List<String> pests) {
+        long mask = 0;
+        for (String pest : pests) {
+            int id = internPest(pest);
+            if (id < MASK_PESTS) mask |= 1L << id;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,141 @@
+package com.garden.system.persist;
+
+import com.garden.system.manager.DeviceState;
+import com.garden.system.manager.GardenManager;
+import com.garden.system.model.PlantStore;
+import com.garden.system.model.SymbolRegistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Versioned binary checkpoint of one garden: every plant row, the symbol tables the
+ * rows' ids refer to, the simulated clock and the device states. Written through a
+ * FileChannel to a temp file that is fsynced and atomically renamed over the target,
+ * so a crash mid-write leaves the previous checkpoint intact. Restored by mapping the
+ * file (MappedByteBuffer) and bulk-copying the columns out of the page cache.
+ *
+ * Layout (little-endian):
+ *   int magic "GSNP", int version
+ *   long journal sequence (last EventJournal record applied; version 2+)
+ *   int handle generation (PlantStore.generation; version 3+)
+ *   int simulated hours; byte heater, byte cooler, byte sprinkler, int sprinkler flow
+ *   int type count + names, int pest count + names (index = id at save time)
+ *   plant rows (PlantStore.writeSnapshot)
+ *   int CRC32C of all preceding bytes
+ */
+public final class GardenSnapshot {
+    public static final int MAGIC = 0x504E5347; // "GSNP" read as little-endian bytes
+    public static final int VERSION = 3;
+
+    /**
+     * What a restore brought back; replay the journal after {@code journalSequence}, in
+     * handle {@code generation} (0 for snapshots older than version 3).
+     */
+    public record Restored(int simulatedHours, int plants, long bytes, long journalSequence, int generation) { }
+
+    private GardenSnapshot() { }
+
+    /**
+     * Checkpoints the garden to {@code file}; returns the snapshot size in bytes.
+     *
+     * @param journalSequence last journal record reflected in the garden (0 without a journal)
+     */
+    public static long write(Path file, GardenManager manager, int simulatedHours, long journalSequence) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long bytes;
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            SnapshotOutput out = new SnapshotOutput(channel);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putLong(journalSequence);
+            out.putInt(manager.getStore().generation());
+
+            DeviceState devices = manager.getDeviceState();
+            out.putInt(simulatedHours);
+            out.putByte(devices.heaterOn() ? 1 : 0);
+            out.putByte(devices.coolerOn() ? 1 : 0);
+            out.putByte(devices.sprinklerOn() ? 1 : 0);
+            out.putInt(devices.sprinklerFlow());
+
+            // Ids are per-JVM, so the names travel with the rows
+            SymbolRegistry symbols = SymbolRegistry.global();
+            int types = symbols.typeCount();
+            out.putInt(types);
+            for (int id = 0; id < types; id++) out.putString(symbols.typeName(id));
+            int pests = symbols.pestCount();
+            out.putInt(pests);
+            for (int id = 0; id < pests; id++) out.putString(symbols.pestName(id));
+
+            manager.getStore().writeSnapshot(out);
+            bytes = out.finish();
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return bytes;
+    }
+
+    /** The CRC32C a snapshot file stores in its last 4 bytes (not verified against the body). */
+    public static int storedChecksum(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < 12) throw new IOException("Not a garden snapshot: " + file);
+            ByteBuffer tail = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (tail.hasRemaining()) {
+                if (channel.read(tail, channel.size() - tail.remaining()) < 0) throw new IOException("Short read: " + file);
+            }
+            return tail.getInt(0);
+        }
+    }
+
+    /**
+     * Replaces the garden's plants and device states with the snapshot. The garden is
+     * left untouched if the file is missing, of another version, or corrupt.
+     */
+    public static Restored restore(Path file, GardenManager manager) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Snapshot too large to map: " + size + " bytes");
+            if (size < 12) throw new IOException("Not a garden snapshot: " + file);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        int length = mapped.capacity();
+
+        ByteBuffer body = mapped.slice(0, length - 4);
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        int stored = mapped.order(ByteOrder.LITTLE_ENDIAN).getInt(length - 4);
+        SnapshotInput in = new SnapshotInput(body);
+        if (in.getInt() != MAGIC) throw new IOException("Not a garden snapshot: " + file);
+        int version = in.getInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + " (expected 1-" + VERSION + ")");
+        }
+        if (stored != (int) crc.getValue()) throw new IOException("Snapshot checksum mismatch: " + file);
+        long journalSequence = version >= 2 ? in.getLong() : 0;
+        int generation = version >= 3 ? in.getInt() : 0;
+
+        int simulatedHours = in.getInt();
+        DeviceState devices = new DeviceState(in.getByte() != 0, in.getByte() != 0, in.getByte() != 0, in.getInt());
+
+        SymbolRegistry symbols = SymbolRegistry.global();
+        int[] typeRemap = new int[in.getCount(Integer.BYTES)];
+        for (int id = 0; id < typeRemap.length; id++) typeRemap[id] = symbols.internType(in.getString());
+        int[] pestRemap = new int[in.getCount(Integer.BYTES)];
+        for (int id = 0; id < pestRemap.length; id++) pestRemap[id] = symbols.internPest(in.getString());
+
+        PlantStore store = PlantStore.readSnapshot(in, typeRemap, pestRemap);
+        manager.restoreGarden(store);
+        manager.restoreDeviceState(devices);
+        return new Restored(simulatedHours, store.size(), length, journalSequence, generation);
+    }
+}
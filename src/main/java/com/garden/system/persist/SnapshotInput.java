@@ -0,0 +1,76 @@
+package com.garden.system.persist;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader over a snapshot held in a (memory-mapped) buffer, mirroring SnapshotOutput.
+ * Columns are restored with bulk view-buffer copies straight out of the page cache.
+ * Truncated or inconsistent input surfaces as an IOException.
+ */
+public final class SnapshotInput {
+    private final ByteBuffer buf;
+
+    SnapshotInput(ByteBuffer buf) {
+        this.buf = buf.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public int getByte() throws IOException {
+        require(1);
+        return buf.get();
+    }
+
+    public int getInt() throws IOException {
+        require(4);
+        return buf.getInt();
+    }
+
+    public long getLong() throws IOException {
+        require(8);
+        return buf.getLong();
+    }
+
+    /** A count or length: non-negative and no larger than the bytes left to back it. */
+    public int getCount(int bytesPerItem) throws IOException {
+        int n = getInt();
+        if (n < 0 || (long) n * bytesPerItem > buf.remaining()) throw corrupt("bad count " + n);
+        return n;
+    }
+
+    public String getString() throws IOException {
+        int length = getInt();
+        if (length == -1) return null;
+        if (length < 0) throw corrupt("bad string length " + length);
+        require(length);
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public void getInts(int[] into, int n) throws IOException {
+        require((long) n * Integer.BYTES);
+        buf.asIntBuffer().get(into, 0, n);
+        buf.position(buf.position() + n * Integer.BYTES);
+    }
+
+    public void getLongs(long[] into, int n) throws IOException {
+        require((long) n * Long.BYTES);
+        buf.asLongBuffer().get(into, 0, n);
+        buf.position(buf.position() + n * Long.BYTES);
+    }
+
+    public void getBooleans(boolean[] into, int n) throws IOException {
+        require(n);
+        for (int i = 0; i < n; i++) into[i] = buf.get() != 0;
+    }
+
+    IOException corrupt(String detail) {
+        return new IOException("Corrupt snapshot at byte " + buf.position() + ": " + detail);
+    }
+
+    private void require(long bytes) throws IOException {
+        if (bytes > buf.remaining()) throw corrupt("truncated");
+    }
+}
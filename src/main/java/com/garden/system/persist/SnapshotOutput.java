@@ -0,0 +1,109 @@
+package com.garden.system.persist;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Little-endian writer for the snapshot format. Values are staged in a 1 MB direct
+ * buffer and written to the channel in large blocks; primitive columns go through
+ * bulk view-buffer copies. Keeps a CRC32C of every byte written.
+ */
+public final class SnapshotOutput {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private long written;
+
+    SnapshotOutput(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public void putByte(int value) throws IOException {
+        ensure(1);
+        buf.put((byte) value);
+    }
+
+    public void putInt(int value) throws IOException {
+        ensure(4);
+        buf.putInt(value);
+    }
+
+    public void putLong(long value) throws IOException {
+        ensure(8);
+        buf.putLong(value);
+    }
+
+    /** Length-prefixed UTF-8; null is written as length -1. */
+    public void putString(String value) throws IOException {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        for (int off = 0; off < bytes.length; ) {
+            ensure(1);
+            int n = Math.min(bytes.length - off, buf.remaining());
+            buf.put(bytes, off, n);
+            off += n;
+        }
+    }
+
+    /** First {@code n} elements of the column. */
+    public void putInts(int[] values, int n) throws IOException {
+        for (int off = 0; off < n; ) {
+            ensure(Integer.BYTES);
+            int k = Math.min(n - off, buf.remaining() / Integer.BYTES);
+            buf.asIntBuffer().put(values, off, k);
+            buf.position(buf.position() + k * Integer.BYTES);
+            off += k;
+        }
+    }
+
+    public void putLongs(long[] values, int n) throws IOException {
+        for (int off = 0; off < n; ) {
+            ensure(Long.BYTES);
+            int k = Math.min(n - off, buf.remaining() / Long.BYTES);
+            buf.asLongBuffer().put(values, off, k);
+            buf.position(buf.position() + k * Long.BYTES);
+            off += k;
+        }
+    }
+
+    /** One byte per element (0/1). */
+    public void putBooleans(boolean[] values, int n) throws IOException {
+        for (int i = 0; i < n; i++) {
+            if (!buf.hasRemaining()) flush();
+            buf.put(values[i] ? (byte) 1 : (byte) 0);
+        }
+    }
+
+    /** Flushes and appends the CRC32C of everything written so far; returns the total size. */
+    long finish() throws IOException {
+        flush();
+        buf.putInt((int) crc.getValue());
+        buf.flip();
+        written += buf.remaining();
+        while (buf.hasRemaining()) channel.write(buf);
+        buf.clear();
+        return written;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buf.remaining() < bytes) flush();
+    }
+
+    private void flush() throws IOException {
+        buf.flip();
+        crc.update(buf.duplicate());
+        written += buf.remaining();
+        while (buf.hasRemaining()) channel.write(buf);
+        buf.clear();
+    }
+}
@@ -0,0 +1,294 @@
+package com.garden.system.server;
+
+import com.garden.system.metrics.MetricsRegistry;
+import com.garden.system.sim.GardenRegistry;
+import com.garden.system.sim.SimulationCommand;
+import com.garden.system.sim.SimulationCommand.*;
+import com.garden.system.util.AsyncLogWriter;
+import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
+import com.garden.system.util.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Localhost HTTP front end for GertenSimulationAPI over a GardenRegistry. Every request
+ * runs on its own virtual thread and is turned into a SimulationCommand for one garden,
+ * so each garden is still written by a single thread. Responses are compact JSON:
+ * {"ok":true,"result":...} or {"ok":false,"error":"..."}.
+ *
+ * Paths address the "default" garden, or any garden with a /gardens/{id} prefix
+ * (e.g. /gardens/bed-7/rain?amount=5); /gardens/{id}/initialize creates the garden
+ * if needed, and /gardens lists the ids.
+ *
+ * Endpoints (GET or POST, parameters in the query string):
+ *   /initialize  /rain?amount=N  /drought?amount=N  /temperature?value=F  /parasite?pest=P
+ *   /heartbeat?day=N  /plants  /state  /summary (running totals: alive, infested, water, health deciles)
+ *   /care/{water|heal|remove-pest|fertilize|emergency-treatment}?handle=H|name=X[&amount=N]
+ *     (a handle from before the last /initialize or restore is rejected: the reply is false)
+ *   /batch  (POST; body = one endpoint per line, e.g. "/rain?amount=5")
+ *   /log-level?spec=WARN,Device=DEBUG  (process-wide GardenLogger thresholds, see GardenLogger.configure)
+ *   /metrics  (process-wide MetricsSnapshot: counters, gauges, latency histograms in ns)
+ *
+ * /batch is the pipelining path: all lines are queued back to back in one round trip,
+ * run in order, and answered as a JSON array.
+ *
+ *   java -cp target/classes com.garden.system.server.GardenHttpServer --port=8080
+ */
+public class GardenHttpServer implements AutoCloseable {
+    private static final int BACKLOG = 4096;
+    public static final String DEFAULT_GARDEN = "default";
+
+    static {
+        // Headers and body go out as separate small writes; with Nagle on, each response
+        // waits for the client's delayed ACK (~40ms). Read once when the JDK server loads.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final GardenRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public GardenHttpServer(GardenRegistry registry, int port) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public GardenHttpServer start() {
+        server.start();
+        GardenLogger.logEvent(Level.INFO, "HTTP", "Listening on http://localhost:" + getPort());
+        return this;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    // --- Request handling ---
+
+    /** Error with an HTTP status (400 bad parameters, 404 unknown endpoint). */
+    private static final class HttpError extends RuntimeException {
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int status = 200;
+        String body;
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/batch")) {
+                body = batch(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            } else if (path.equals("/gardens")) {
+                body = ok(registry.ids());
+            } else if (path.equals("/log-level")) {
+                body = ok(logLevel(query(exchange.getRequestURI().getRawQuery())));
+            } else if (path.equals("/metrics")) {
+                body = ok(MetricsRegistry.global().snapshot());
+            } else {
+                body = ok(dispatch(path, exchange.getRequestURI().getRawQuery()).get());
+            }
+        } catch (HttpError e) {
+            status = e.status;
+            body = error(e.getMessage());
+        } catch (ExecutionException e) {
+            status = 500;
+            body = error(e.getCause().getMessage());
+        } catch (Exception e) {
+            status = 500;
+            body = error(e.getMessage());
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String batch(String body) throws InterruptedException {
+        // Queue every line before waiting on any, so the whole batch is one round trip
+        List<Object> pending = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            line = line.strip();
+            if (line.isEmpty()) continue;
+            try {
+                int q = line.indexOf('?');
+                String path = q < 0 ? line : line.substring(0, q);
+                String query = q < 0 ? null : line.substring(q + 1);
+                pending.add(dispatch(path, query));
+            } catch (HttpError e) {
+                pending.add(e);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < pending.size(); i++) {
+            if (i > 0) sb.append(',');
+            Object p = pending.get(i);
+            if (p instanceof HttpError e) {
+                sb.append(error(e.getMessage()));
+            } else {
+                try {
+                    sb.append(ok(((CompletableFuture<?>) p).get()));
+                } catch (ExecutionException e) {
+                    sb.append(error(e.getCause().getMessage()));
+                }
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /** Applies a threshold spec if given; answers the global threshold. */
+    private static String logLevel(Map<String, String> q) {
+        String spec = q.get("spec");
+        if (spec != null) {
+            try {
+                GardenLogger.configure(spec);
+            } catch (IllegalArgumentException e) {
+                throw new HttpError(400, "Bad log level spec: " + spec);
+            }
+        }
+        return GardenLogger.getLevel(null).name();
+    }
+
+    /** Resolve the garden (default or /gardens/{id} prefix) and queue the command on it. */
+    private CompletableFuture<?> dispatch(String path, String rawQuery) {
+        String gardenId = DEFAULT_GARDEN;
+        if (path.startsWith("/gardens/")) {
+            int slash = path.indexOf('/', 9);
+            if (slash < 0) throw new HttpError(404, "Missing endpoint after garden id: " + path);
+            gardenId = URLDecoder.decode(path.substring(9, slash), StandardCharsets.UTF_8);
+            path = path.substring(slash);
+        }
+        SimulationCommand<?> command = parse(path, rawQuery);
+        GardenRegistry.Garden garden = command instanceof InitializeGarden
+                ? registry.getOrCreate(gardenId) : registry.get(gardenId);
+        if (garden == null) throw new HttpError(404, "Unknown garden: " + gardenId);
+        return garden.simulation().submit(command);
+    }
+
+    static SimulationCommand<?> parse(String path, String rawQuery) {
+        Map<String, String> q = query(rawQuery);
+        if (path.startsWith("/care/")) {
+            CareAction action = switch (path.substring(6)) {
+                case "water" -> CareAction.WATER;
+                case "heal" -> CareAction.HEAL;
+                case "remove-pest" -> CareAction.REMOVE_PEST;
+                case "fertilize" -> CareAction.FERTILIZE;
+                case "emergency-treatment" -> CareAction.EMERGENCY_TREATMENT;
+                default -> throw new HttpError(404, "Unknown care action: " + path.substring(6));
+            };
+            int amount = q.containsKey("amount") ? intParam(q, "amount") : 0;
+            if (q.containsKey("handle")) return new Care(action, intParam(q, "handle"), amount);
+            if (q.containsKey("name")) return new CareNamed(action, q.get("name"), amount);
+            throw new HttpError(400, "Missing parameter: handle or name");
+        }
+        return switch (path) {
+            case "/initialize" -> new InitializeGarden();
+            case "/rain" -> new Rain(intParam(q, "amount"));
+            case "/drought" -> new Drought(intParam(q, "amount"));
+            case "/temperature" -> new Temperature(intParam(q, "value"));
+            case "/parasite" -> new Parasite(q.get("pest"));
+            case "/heartbeat" -> new Heartbeat(intParam(q, "day"));
+            case "/plants" -> new GetPlants();
+            case "/state" -> new GetState();
+            case "/summary" -> new GetAggregates();
+            default -> throw new HttpError(404, "Unknown endpoint: " + path);
+        };
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> q, String name) {
+        String value = q.get(name);
+        if (value == null) throw new HttpError(400, "Missing parameter: " + name);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new HttpError(400, "Parameter " + name + " must be an integer: " + value);
+        }
+    }
+
+    private static String ok(Object result) {
+        StringBuilder sb = new StringBuilder("{\"ok\":true,\"result\":");
+        JsonWriter.write(sb, result);
+        return sb.append('}').toString();
+    }
+
+    private static String error(String message) {
+        StringBuilder sb = new StringBuilder("{\"ok\":false,\"error\":");
+        JsonWriter.write(sb, message);
+        return sb.append('}').toString();
+    }
+
+    // --- Standalone entry point ---
+
+    public static void main(String[] args) throws Exception {
+        int port = 8080;
+        String logMode = "async";
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) port = Integer.parseInt(arg.substring(7));
+            else if (arg.startsWith("--log=")) logMode = arg.substring(6);
+            else if (arg.startsWith("--log-level=")) GardenLogger.configure(arg.substring(12));
+        }
+        configureLogging(logMode);
+
+        GardenRegistry registry = new GardenRegistry();
+        registry.create(DEFAULT_GARDEN).simulation().submit(new InitializeGarden()).get();
+        GardenHttpServer server = new GardenHttpServer(registry, port).start();
+        System.out.println("Garden API listening on http://localhost:" + server.getPort());
+    }
+
+    /** off | async | sync; per-request sync file appends would dominate latency, so async is the default. */
+    static void configureLogging(String mode) {
+        switch (mode) {
+            case "off" -> GardenLogger.setEnabled(false);
+            case "async" -> {
+                GardenLogger.setConsoleEcho(false);
+                GardenLogger.enableAsync(1 << 16, AsyncLogWriter.OverflowPolicy.DROP, 1);
+            }
+            case "sync" -> { }
+            default -> throw new IllegalArgumentException("Unknown --log mode: " + mode);
+        }
+    }
+}
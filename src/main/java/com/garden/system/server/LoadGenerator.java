@@ -0,0 +1,151 @@
+package com.garden.system.server;
+
+import com.garden.system.sim.GardenRegistry;
+import com.garden.system.sim.SimulationCommand.InitializeGarden;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Load generator for GardenHttpServer: C concurrent clients (one virtual thread each)
+ * send R requests apiece on keep-alive connections and the report gives throughput
+ * plus p50/p90/p99/p99.9/max latency.
+ *
+ *   java -cp target/classes com.garden.system.server.LoadGenerator --embedded --clients=2000
+ *
+ * Options: --url=http://127.0.0.1:8080 (or --embedded to start a server in-process),
+ * --clients=N, --requests=N (per client), --path=/rain?amount=1, --log=off|async|sync,
+ * --gardens=N (spread clients over gardens g0..gN-1 instead of the default garden)
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        boolean embedded = false;
+        int clients = 1000;
+        int requests = 20;
+        String path = "/rain?amount=1";
+        String logMode = "off";
+        int gardens = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--url=")) url = arg.substring(6);
+            else if (arg.equals("--embedded")) embedded = true;
+            else if (arg.startsWith("--clients=")) clients = Integer.parseInt(arg.substring(10));
+            else if (arg.startsWith("--requests=")) requests = Integer.parseInt(arg.substring(11));
+            else if (arg.startsWith("--path=")) path = arg.substring(7);
+            else if (arg.startsWith("--log=")) logMode = arg.substring(6);
+            else if (arg.startsWith("--gardens=")) gardens = Integer.parseInt(arg.substring(10));
+        }
+
+        GardenHttpServer server = null;
+        GardenRegistry registry = null;
+        if (embedded || url == null) {
+            GardenHttpServer.configureLogging(logMode);
+            registry = new GardenRegistry();
+            registry.create(GardenHttpServer.DEFAULT_GARDEN, new Random(42)).simulation().submit(new InitializeGarden()).get();
+            server = new GardenHttpServer(registry, 0).start();
+            url = "http://127.0.0.1:" + server.getPort();
+        }
+
+        try {
+            URI[] targets = new URI[Math.max(1, gardens)];
+            if (gardens <= 0) {
+                targets[0] = URI.create(url + path);
+            } else {
+                HttpClient setup = HttpClient.newHttpClient();
+                for (int g = 0; g < gardens; g++) {
+                    String prefix = url + "/gardens/g" + g;
+                    URI initialize = URI.create(prefix + "/initialize");
+                    int status = setup.send(HttpRequest.newBuilder(initialize).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    // Otherwise every request to this garden would be a measured 404
+                    if (status != 200) throw new IllegalStateException("Setup failed: " + initialize + " returned HTTP " + status);
+                    targets[g] = URI.create(prefix + path);
+                }
+            }
+            run(targets, clients, requests);
+        } finally {
+            if (server != null) server.close();
+            if (registry != null) registry.close();
+        }
+    }
+
+    private static void run(URI[] targets, int clients, int requests) throws InterruptedException {
+        long[][] latencies = new long[clients][requests];
+        int[] completed = new int[clients];
+        AtomicLong errors = new AtomicLong();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        HttpRequest[] byTarget = new HttpRequest[targets.length];
+        for (int t = 0; t < targets.length; t++) {
+            byTarget[t] = HttpRequest.newBuilder(targets[t]).timeout(Duration.ofSeconds(30)).GET().build();
+        }
+
+        long start;
+        try (HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build();
+             ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            start = System.nanoTime();
+            for (int c = 0; c < clients; c++) {
+                int id = c;
+                HttpRequest request = byTarget[c % byTarget.length];
+                threads.submit(() -> {
+                    for (int r = 0; r < requests; r++) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                // Failed replies are errors only; they would skew the latencies
+                                errors.incrementAndGet();
+                                firstError.compareAndSet(null, "HTTP " + response.statusCode());
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            firstError.compareAndSet(null, e.toString());
+                            continue;
+                        }
+                        latencies[id][completed[id]++] = System.nanoTime() - t0;
+                    }
+                });
+            }
+            // Closing the executor (first, as the last resource) waits for every client
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int total = 0;
+        for (int n : completed) total += n;
+        long[] all = new long[total];
+        int k = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, k, completed[c]);
+            k += completed[c];
+        }
+        Arrays.sort(all);
+
+        System.out.println("=== Load report ===");
+        System.out.printf("target=%s%s clients=%d requests/client=%d%n", targets[0],
+                targets.length > 1 ? " (+" + (targets.length - 1) + " gardens)" : "", clients, requests);
+        System.out.printf("completed:  %d (errors %d) in %.2f s%n", total, errors.get(), seconds);
+        if (firstError.get() != null) System.out.println("first error: " + firstError.get());
+        System.out.printf("throughput: %.0f req/s%n", total / seconds);
+        System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99),
+                percentile(all, 0.999), total == 0 ? 0.0 : all[total - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,108 @@
+package com.garden.system.sim;
+
+import com.garden.system.api.GertenSimulationAPI;
+import com.garden.system.manager.GardenManager;
+import com.garden.system.metrics.Histogram;
+import com.garden.system.metrics.MetricsRegistry;
+import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
+
+import java.util.Random;
+
+/**
+ * One simulated day: maintenance, random weather, a possible pest, then heartbeat.
+ * Shared by the JavaFX Auto Run and the headless runner so both drive the garden the same way.
+ */
+public class DayCycle {
+    private static final String[] PESTS = {"aphids", "worms", "slugs", "rot", "locusts"};
+    private static final Histogram DEATHS_PER_DAY = MetricsRegistry.global().histogram("sim.deathsPerDay");
+
+    /**
+     * Runs (or skips) each garden event of a day. {@code event} names the event and
+     * {@code arg} is its parameter (degrees, units or pest index); {@code hours} is how
+     * far the event moves the simulated clock. TimeWarp uses this to collapse no-ops.
+     */
+    interface EventGate {
+        void fire(String event, int arg, int hours, Runnable action);
+    }
+
+    private static final EventGate RUN_ALL = (event, arg, hours, action) -> action.run();
+
+    private final GertenSimulationAPI api;
+    private final GardenManager manager;
+    private final Random random;
+    private final EventGate gate;
+
+    // Throughput counters: events the gate ran, and the alive plants visited by the
+    // full-garden passes among them (maintenance and weather; a pest visits only its
+    // vulnerable rows and a heartbeat none, so those add no plant updates)
+    private long eventsRun;
+    private long plantUpdates;
+
+    public DayCycle(GertenSimulationAPI api, GardenManager manager, Random random) {
+        this(api, manager, random, RUN_ALL);
+    }
+
+    DayCycle(GertenSimulationAPI api, GardenManager manager, Random random, EventGate gate) {
+        this.api = api;
+        this.manager = manager;
+        this.random = random;
+        this.gate = gate;
+    }
+
+    public void runDay(int day) {
+        runDay(day, random);
+    }
+
+    /** Runs a day on the given RNG (SimulationService seeds one per day so the journal can replay it). */
+    public void runDay(int day, Random random) {
+        GardenLogger.log(Level.INFO, "SIM", () -> "--- STARTING DAY " + day + " ---");
+        long aliveBefore = manager.getAliveCount();
+
+        // --- NEW: Perform Daily Maintenance (Water Evaporation) ---
+        gate.fire("maintenance", 0, 0, pass(manager::performDailyMaintenance));
+
+        int randomTemp = 40 + random.nextInt(70);
+        gate.fire("temperature", randomTemp, 1, pass(() -> api.temperature(randomTemp)));
+
+        if (random.nextInt(100) < 30) {
+            int rain = 5 + random.nextInt(10);
+            gate.fire("rain", rain, 1, pass(() -> api.rain(rain)));
+        } else if (random.nextInt(100) < 20) {
+            // Drought scenario - water loss due to evaporation
+            int drought = 5 + random.nextInt(10);
+            gate.fire("drought", drought, 1, pass(() -> api.drought(drought)));
+        } else {
+            GardenLogger.log(Level.INFO, "SIM", "WEATHER: Sunny day.");
+        }
+
+        if (random.nextInt(100) < 60) {
+            // Increased pest chance for presentation (60% chance)
+            int pest = random.nextInt(PESTS.length);
+            gate.fire("parasite", pest, 1, event(() -> api.parasite(PESTS[pest])));
+        }
+
+        gate.fire("heartbeat", 0, 0, event(() -> api.heartbeat(day)));
+        DEATHS_PER_DAY.record(aliveBefore - manager.getAliveCount());
+    }
+
+    /** Counts the event when the gate actually runs it. */
+    private Runnable event(Runnable action) {
+        return () -> {
+            eventsRun++;
+            action.run();
+        };
+    }
+
+    /** Like event(), for a pass over the whole garden: also counts the alive plants it visits. */
+    private Runnable pass(Runnable action) {
+        return () -> {
+            eventsRun++;
+            plantUpdates += manager.getAliveCount();
+            action.run();
+        };
+    }
+
+    public long getEventsRun() { return eventsRun; }
+    public long getPlantUpdates() { return plantUpdates; }
+}
@@ -0,0 +1,355 @@
+package com.garden.system.sim;
+
+import com.garden.system.persist.GardenSnapshot;
+import com.garden.system.sim.SimulationCommand.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary write-ahead journal of the commands that change a garden.
+ * SimulationService appends each one before running it, with the simulated hour it
+ * ran at and, for RunDay and FastForward, the RNG seed it ran on, then calls
+ * {@link #commit} once per drained batch: one write and one fsync for the whole batch
+ * (group commit), and callers' futures complete only after it.
+ *
+ * Record layout (little-endian): int payload length, int CRC32C of the payload, then
+ * long sequence, int hour, long seed, byte opcode, arguments. A torn or corrupt tail
+ * (crash mid-append) ends reading and is truncated when the journal is reopened.
+ *
+ * Reads (GetState, GetPlants, GetAggregates, DrainChanges) and SaveSnapshot are not journaled.
+ * A RestoreSnapshot is journaled against a copy of the snapshot pinned next to the
+ * journal (see {@link #pin}), so replay never depends on the original file.
+ */
+public final class EventJournal implements AutoCloseable {
+    private static final int HEADER = 8;
+    private static final int MAX_RECORD = 1 << 24;
+
+    private static final byte INITIALIZE = 0, RAIN = 1, DROUGHT = 2, TEMPERATURE = 3, PARASITE = 4,
+            RUN_DAY = 5, HEARTBEAT = 6, ADD_PLANT = 7, CARE = 8, CARE_NAMED = 9, SET_DEVICE = 10,
+            RESTORE_SNAPSHOT = 11, FAST_FORWARD = 12;
+
+    /** One journaled command. */
+    public record Entry(long sequence, int hour, long seed, SimulationCommand<?> command) { }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer pending = newBuffer(1 << 16);
+    private long lastSequence;
+    private long records;
+    private long commits;
+
+    private EventJournal(Path file, FileChannel channel, boolean fsync, long lastSequence) {
+        this.file = file;
+        this.channel = channel;
+        this.fsync = fsync;
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * Opens (or creates) a journal for appending after its last intact record.
+     *
+     * @param fsync force each commit to disk; false leaves flushing to the OS (faster,
+     *              but a machine crash can lose the last batches)
+     */
+    public static EventJournal open(Path file, boolean fsync) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long[] last = {0};
+            long end = scan(channel, file, 0, e -> last[0] = e.sequence());
+            if (end < channel.size()) channel.truncate(end);
+            channel.position(end);
+            return new EventJournal(file, channel, fsync, last[0]);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static boolean isJournaled(SimulationCommand<?> command) {
+        return !(command instanceof GetState || command instanceof GetPlants || command instanceof GetAggregates
+                || command instanceof DrainChanges || command instanceof SaveSnapshot);
+    }
+
+    /** Sequence of the last appended record (0 for an empty journal). */
+    public long lastSequence() { return lastSequence; }
+    public long getRecords() { return records; }
+    /** Commits that wrote anything (one fsync each when fsync is on). */
+    public long getCommits() { return commits; }
+
+    /**
+     * Copies a snapshot about to be restored next to the journal, named after its stored
+     * CRC32C and size, and returns the restore to journal and run instead: it reads the
+     * copy and checks the checksum. Overwriting or moving the original afterwards then
+     * can't change what a replay restores. An existing copy of the same name is reused
+     * only if its bytes match.
+     */
+    public RestoreSnapshot pin(RestoreSnapshot command) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".snap.tmp");
+        Files.copy(command.file(), tmp, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            int checksum = GardenSnapshot.storedChecksum(tmp);
+            Path pinned = file.resolveSibling(String.format("%s.%08x-%d.snap", file.getFileName(), checksum, Files.size(tmp)));
+            if (Files.exists(pinned)) {
+                if (Files.mismatch(tmp, pinned) != -1) {
+                    throw new IOException("Pinned snapshot " + pinned + " differs from " + command.file());
+                }
+            } else {
+                try (FileChannel copy = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    copy.force(true);
+                }
+                Files.move(tmp, pinned, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new RestoreSnapshot(pinned, checksum);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Buffers one record; nothing reaches the file until {@link #commit}. Returns its sequence. */
+    public long append(int hour, long seed, SimulationCommand<?> command) {
+        long sequence = lastSequence + 1;
+        int start = pending.position();
+        ensure(HEADER + 64);
+        pending.position(start + HEADER);
+        pending.putLong(sequence).putInt(hour).putLong(seed);
+        encode(command);
+        int end = pending.position();
+
+        crc.reset();
+        crc.update(pending.duplicate().position(start + HEADER).limit(end));
+        pending.putInt(start, end - start - HEADER).putInt(start + 4, (int) crc.getValue());
+        lastSequence = sequence;
+        records++;
+        return sequence;
+    }
+
+    /** Writes every buffered record and, if enabled, fsyncs once for all of them. */
+    public void commit() throws IOException {
+        if (pending.position() == 0) return;
+        pending.flip();
+        while (pending.hasRemaining()) channel.write(pending);
+        pending.clear();
+        if (fsync) channel.force(false);
+        commits++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // --- Reading ---
+
+    /** Streams the intact records with a sequence above {@code afterSequence}; returns how many. */
+    public static long read(Path file, long afterSequence, Consumer<Entry> sink) throws IOException {
+        if (!Files.exists(file)) return 0;
+        long[] count = {0};
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            scan(channel, file, 0, e -> {
+                if (e.sequence() > afterSequence) {
+                    count[0]++;
+                    sink.accept(e);
+                }
+            });
+        }
+        return count[0];
+    }
+
+    /** Reads records from {@code offset} until the end or the first bad one; returns where it stopped. */
+    private static long scan(FileChannel channel, Path file, long offset, Consumer<Entry> sink) throws IOException {
+        ByteBuffer buf = newBuffer(1 << 20);
+        CRC32C crc = new CRC32C();
+        long position = offset;
+        buf.limit(0);
+        while (true) {
+            if (buf.remaining() < HEADER && !fill(channel, buf, position, HEADER)) return position;
+            int length = buf.getInt(buf.position());
+            int checksum = buf.getInt(buf.position() + 4);
+            if (length <= 0 || length > MAX_RECORD) return position;
+            if (buf.remaining() < HEADER + length) {
+                if (buf.capacity() < HEADER + length) {
+                    ByteBuffer bigger = newBuffer(HEADER + length).put(buf);
+                    buf = bigger.flip();
+                }
+                if (!fill(channel, buf, position, HEADER + length)) return position;
+            }
+            ByteBuffer payload = buf.duplicate().position(buf.position() + HEADER).limit(buf.position() + HEADER + length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) return position;
+
+            Entry entry;
+            try {
+                entry = decode(payload.order(ByteOrder.LITTLE_ENDIAN), file);
+            } catch (RuntimeException e) {
+                return position; // bad opcode or truncated arguments
+            }
+            sink.accept(entry);
+            buf.position(buf.position() + HEADER + length);
+            position += HEADER + length;
+        }
+    }
+
+    /** Compacts and reads more; false if the file ends before {@code needed} bytes are buffered. */
+    private static boolean fill(FileChannel channel, ByteBuffer buf, long position, int needed) throws IOException {
+        buf.compact();
+        long readFrom = position + buf.position();
+        while (buf.position() < needed) {
+            int n = channel.read(buf, readFrom);
+            if (n <= 0) break;
+            readFrom += n;
+        }
+        buf.flip();
+        return buf.remaining() >= needed;
+    }
+
+    // --- Encoding ---
+
+    private void encode(SimulationCommand<?> command) {
+        switch (command) {
+            case InitializeGarden c -> op(INITIALIZE);
+            case Rain c -> op(RAIN).putInt(c.amount());
+            case Drought c -> op(DROUGHT).putInt(c.amount());
+            case Temperature c -> op(TEMPERATURE).putInt(c.temp());
+            case Parasite c -> {
+                op(PARASITE);
+                putString(c.pest());
+            }
+            case RunDay c -> op(RUN_DAY).putInt(c.day());
+            case FastForward c -> op(FAST_FORWARD).putInt(c.firstDay()).putInt(c.days()).put((byte) (c.collapse() ? 1 : 0));
+            case Heartbeat c -> op(HEARTBEAT).putInt(c.day());
+            case AddPlant c -> {
+                op(ADD_PLANT);
+                putString(c.name());
+                putString(c.type());
+                pending.putInt(c.waterRequirement()).putInt(c.pests().size());
+                for (String pest : c.pests()) putString(pest);
+            }
+            case Care c -> op(CARE).put((byte) c.action().ordinal()).putInt(c.handle()).putInt(c.amount());
+            case CareNamed c -> {
+                op(CARE_NAMED).put((byte) c.action().ordinal());
+                putString(c.name());
+                ensure(4);
+                pending.putInt(c.amount());
+            }
+            case SetDevice c -> op(SET_DEVICE).put((byte) c.device().ordinal());
+            case RestoreSnapshot c -> {
+                op(RESTORE_SNAPSHOT);
+                if (c.checksum() == null) {
+                    putString(c.file().toString());
+                } else {
+                    // Pinned copy: stored by name, found next to the journal on replay
+                    putString(c.file().getFileName().toString());
+                    ensure(4);
+                    pending.putInt(c.checksum());
+                }
+            }
+            case GetState c -> throw notJournaled(c);
+            case GetPlants c -> throw notJournaled(c);
+            case GetAggregates c -> throw notJournaled(c);
+            case DrainChanges c -> throw notJournaled(c);
+            case SaveSnapshot c -> throw notJournaled(c);
+        }
+    }
+
+    private static IllegalArgumentException notJournaled(SimulationCommand<?> command) {
+        return new IllegalArgumentException("Not a journaled command: " + command);
+    }
+
+    private ByteBuffer op(byte opcode) {
+        ensure(32);
+        return pending.put(opcode);
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            ensure(4);
+            pending.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensure(4 + bytes.length + 16);
+        pending.putInt(bytes.length).put(bytes);
+    }
+
+    private void ensure(int bytes) {
+        if (pending.remaining() < bytes) pending = grow(pending, pending.position() + bytes);
+    }
+
+    private static Entry decode(ByteBuffer in, Path file) {
+        long sequence = in.getLong();
+        int hour = in.getInt();
+        long seed = in.getLong();
+        SimulationCommand<?> command = switch (in.get()) {
+            case INITIALIZE -> new InitializeGarden();
+            case RAIN -> new Rain(in.getInt());
+            case DROUGHT -> new Drought(in.getInt());
+            case TEMPERATURE -> new Temperature(in.getInt());
+            case PARASITE -> new Parasite(getString(in));
+            case RUN_DAY -> new RunDay(in.getInt());
+            case FAST_FORWARD -> new FastForward(in.getInt(), in.getInt(), in.get() != 0);
+            case HEARTBEAT -> new Heartbeat(in.getInt());
+            case ADD_PLANT -> {
+                String name = getString(in);
+                String type = getString(in);
+                int water = in.getInt();
+                int count = in.getInt();
+                if (count < 0 || count > in.remaining()) throw new IllegalStateException("bad pest count");
+                List<String> pests = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) pests.add(getString(in));
+                yield new AddPlant(name, type, water, pests);
+            }
+            case CARE -> new Care(CareAction.values()[in.get()], in.getInt(), in.getInt());
+            case CARE_NAMED -> new CareNamed(CareAction.values()[in.get()], getString(in), in.getInt());
+            case SET_DEVICE -> new SetDevice(Device.values()[in.get()]);
+            case RESTORE_SNAPSHOT -> {
+                String path = getString(in);
+                // Records from before pinning hold just the path
+                yield in.remaining() < 4 ? new RestoreSnapshot(Path.of(path))
+                        : new RestoreSnapshot(file.resolveSibling(path), in.getInt());
+            }
+            default -> throw new IllegalStateException("unknown opcode");
+        };
+        return new Entry(sequence, hour, seed, command);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == -1) return null;
+        if (length < 0 || length > in.remaining()) throw new IllegalStateException("bad string length");
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Larger copy of a buffer being written (position = bytes so far). */
+    private static ByteBuffer grow(ByteBuffer buf, int needed) {
+        ByteBuffer bigger = newBuffer(Math.max(needed, buf.capacity() * 2));
+        buf.flip();
+        bigger.put(buf);
+        return bigger;
+    }
+}
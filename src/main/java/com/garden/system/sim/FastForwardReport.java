@@ -0,0 +1,14 @@
+package com.garden.system.sim;
+
+/**
+ * Outcome of a fast-forward (TimeWarp / FastForward command): days run, events run and
+ * collapsed, plant updates (as DayCycle counts them), the simulated hours advanced and
+ * how many plants died on the way.
+ */
+public record FastForwardReport(int firstDay, int days, long events, long collapsedEvents, long plantUpdates, int hours,
+                                long aliveBefore, long aliveAfter, double seconds) {
+
+    public long died() {
+        return aliveBefore - aliveAfter;
+    }
+}
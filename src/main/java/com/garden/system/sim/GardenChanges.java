@@ -0,0 +1,13 @@
+package com.garden.system.sim;
+
+import com.garden.system.model.PlantSnapshot;
+
+import java.util.List;
+
+/**
+ * What changed since the last drain, as immutable snapshots.
+ * When {@code layoutChanged} is true, {@code plants} is the whole garden in planting
+ * order; otherwise it holds only the plants whose state changed.
+ */
+public record GardenChanges(boolean layoutChanged, List<PlantSnapshot> plants) {
+}
@@ -0,0 +1,30 @@
+package com.garden.system.sim;
+
+import com.garden.system.manager.GardenManager;
+
+import java.util.List;
+
+/**
+ * Fills a garden with M plants cycling through the built-in plant types.
+ * Generated plants have no stored name (they resolve as "Type #id"), so large
+ * gardens cost only their primitive columns.
+ */
+public class GardenGenerator {
+    private static final String[] TYPES = {"Rose", "Tomato", "Basil", "Cactus", "Sunflower", "Corn", "Tulip"};
+    private static final int[] WATER = {10, 15, 8, 2, 12, 20, 10};
+    private static final List<List<String>> PESTS = List.of(
+            List.of("aphids", "beetles"),
+            List.of("worms", "blight"),
+            List.of("slugs"),
+            List.of("rot"),
+            List.of("birds"),
+            List.of("locusts"),
+            List.of("aphids"));
+
+    public static void populate(GardenManager manager, int plants) {
+        for (int i = 0; i < plants; i++) {
+            int t = i % TYPES.length;
+            manager.addPlant(null, TYPES[t], WATER[t], PESTS.get(t));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.garden.system.sim;
+
+import com.garden.system.api.GertenSimulationAPI;
+import com.garden.system.manager.GardenManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Many independent gardens in one process. Each garden has its own GardenManager
+ * (plants, subsystems, devices), GertenSimulationAPI (simulated clock), monitor and
+ * log tag, driven by its own SimulationService.
+ *
+ * Gardens run on a fixed set of lanes, one single-thread executor per core. A garden
+ * is pinned to one lane when created (round-robin), so its commands always run on the
+ * same thread, in order, while different lanes run gardens in parallel.
+ */
+public class GardenRegistry implements AutoCloseable {
+
+    /** One registered garden. */
+    public record Garden(String id, GardenManager manager, GertenSimulationAPI api,
+                         SimulationService simulation, int lane) { }
+
+    private final ExecutorService[] lanes;
+    private final Map<String, Garden> gardens = new ConcurrentHashMap<>();
+    private final AtomicInteger nextLane = new AtomicInteger();
+
+    public GardenRegistry() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public GardenRegistry(int laneCount) {
+        lanes = new ExecutorService[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "garden-lane-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /** New empty garden; call InitializeGarden (or AddPlant) to plant it. */
+    public Garden create(String id) {
+        return create(id, new Random());
+    }
+
+    /** @param random weather/pest RNG for the garden's day cycle */
+    public Garden create(String id, Random random) {
+        Garden garden = newGarden(id, random);
+        if (gardens.putIfAbsent(id, garden) != null) {
+            throw new IllegalArgumentException("Garden already exists: " + id);
+        }
+        garden.simulation().start(lanes[garden.lane()]);
+        return garden;
+    }
+
+    public Garden getOrCreate(String id) {
+        Garden existing = gardens.get(id);
+        if (existing != null) return existing;
+        Garden garden = newGarden(id, new Random());
+        existing = gardens.putIfAbsent(id, garden);
+        if (existing != null) return existing;
+        garden.simulation().start(lanes[garden.lane()]);
+        return garden;
+    }
+
+    private Garden newGarden(String id, Random random) {
+        if (id == null || id.isBlank()) throw new IllegalArgumentException("Garden id is required");
+        GardenManager manager = new GardenManager();
+        GertenSimulationAPI api = new GertenSimulationAPI(manager);
+        SimulationService simulation = new SimulationService(api, manager, random, id);
+        int lane = Math.floorMod(nextLane.getAndIncrement(), lanes.length);
+        return new Garden(id, manager, api, simulation, lane);
+    }
+
+    /** The garden, or null if unknown. */
+    public Garden get(String id) {
+        return id == null ? null : gardens.get(id);
+    }
+
+    public List<String> ids() {
+        List<String> ids = new ArrayList<>(gardens.keySet());
+        ids.sort(null);
+        return ids;
+    }
+
+    public int size() {
+        return gardens.size();
+    }
+
+    /** Stops the garden after its queued commands have run. */
+    public boolean remove(String id) {
+        Garden garden = gardens.remove(id);
+        if (garden == null) return false;
+        garden.simulation().close();
+        return true;
+    }
+
+    /** Route a command to a garden; fails the future if the garden doesn't exist. */
+    public <R> CompletableFuture<R> submit(String gardenId, SimulationCommand<R> command) {
+        Garden garden = get(gardenId);
+        if (garden == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown garden: " + gardenId));
+        }
+        return garden.simulation().submit(command);
+    }
+
+    @Override
+    public void close() {
+        for (Garden garden : gardens.values()) garden.simulation().close();
+        gardens.clear();
+        for (ExecutorService lane : lanes) lane.shutdown();
+        for (ExecutorService lane : lanes) {
+            try {
+                lane.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
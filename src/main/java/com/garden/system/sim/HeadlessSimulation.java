@@ -0,0 +1,146 @@
+package com.garden.system.sim;
+
+import com.garden.system.api.GertenSimulationAPI;
+import com.garden.system.manager.GardenManager;
+import com.garden.system.metrics.MetricsRegistry;
+import com.garden.system.util.AsyncLogWriter;
+import com.garden.system.util.GardenLogger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Headless driver for capacity planning: runs N simulated days over a generated
+ * garden of M plants as fast as possible and prints a throughput report.
+ * Needs no JavaFX, so it can run from the plain classpath:
+ *
+ *   java -cp target/classes com.garden.system.sim.HeadlessSimulation 365 1000000
+ *
+ * Options: --log=off|async|sync (default off), --log-level=SPEC (e.g. WARN or
+ * WARN,Device=DEBUG; see GardenLogger.configure), --seed=N, --parallel-threshold=N,
+ * --config=FILE (stream a garden-config.json style catalog instead of generating plants),
+ * --restore=FILE (start from a snapshot instead), --checkpoint=FILE (snapshot at the end),
+ * --fast-forward (run the days through TimeWarp: transitions and a summary only, even
+ * with --log=sync), --collapse (fast-forward, skipping events known to be no-ops),
+ * --metrics (append the MetricsRegistry dump: per-call latencies, activations, deaths)
+ */
+public class HeadlessSimulation {
+
+    public static void main(String[] args) throws IOException {
+        int days = 30;
+        int plants = 100_000;
+        String logMode = "off";
+        long seed = 42;
+        Integer parallelThreshold = null;
+        String configFile = null;
+        String restoreFile = null;
+        String checkpointFile = null;
+        boolean fastForward = false;
+        boolean collapse = false;
+        boolean metrics = false;
+
+        int positional = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--log=")) logMode = arg.substring(6);
+            else if (arg.startsWith("--log-level=")) GardenLogger.configure(arg.substring(12));
+            else if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring(7));
+            else if (arg.startsWith("--parallel-threshold=")) parallelThreshold = Integer.parseInt(arg.substring(21));
+            else if (arg.startsWith("--config=")) configFile = arg.substring(9);
+            else if (arg.startsWith("--restore=")) restoreFile = arg.substring(10);
+            else if (arg.startsWith("--checkpoint=")) checkpointFile = arg.substring(13);
+            else if (arg.equals("--fast-forward")) fastForward = true;
+            else if (arg.equals("--collapse")) fastForward = collapse = true;
+            else if (arg.equals("--metrics")) metrics = true;
+            else if (positional++ == 0) days = Integer.parseInt(arg);
+            else plants = Integer.parseInt(arg);
+        }
+
+        switch (logMode) {
+            case "off" -> GardenLogger.setEnabled(false);
+            case "async" -> GardenLogger.enableAsync(1 << 16, AsyncLogWriter.OverflowPolicy.DROP, 1);
+            case "sync" -> { }
+            default -> throw new IllegalArgumentException("Unknown --log mode: " + logMode);
+        }
+
+        GardenManager manager = GardenManager.getInstance();
+        if (parallelThreshold != null) manager.getTickEngine().setParallelThreshold(parallelThreshold);
+        GertenSimulationAPI api = new GertenSimulationAPI();
+
+        long setupStart = System.nanoTime();
+        api.clearGarden();
+        if (restoreFile != null) {
+            plants = api.restoreSnapshot(Path.of(restoreFile)).plants();
+        } else if (configFile != null) {
+            try (Reader reader = Files.newBufferedReader(Path.of(configFile))) {
+                plants = (int) api.importPlants(reader);
+            }
+        } else {
+            GardenGenerator.populate(manager, plants);
+        }
+        double setupSeconds = (System.nanoTime() - setupStart) / 1e9;
+
+        // Seeded per day the way TimeWarp does it, so a seed gives the same weather and pests in both modes
+        Random seeds = new Random(seed);
+        DayCycle cycle = new DayCycle(api, manager, seeds);
+        FastForwardReport warp = null;
+        long start = System.nanoTime();
+        if (fastForward) {
+            warp = new TimeWarp(api, manager).run(1, days, seed, collapse);
+        } else {
+            for (int day = 1; day <= days; day++) {
+                cycle.runDay(day, new Random(seeds.nextLong()));
+            }
+        }
+        double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+        long events = warp != null ? warp.events() : cycle.getEventsRun();
+        long plantUpdates = warp != null ? warp.plantUpdates() : cycle.getPlantUpdates();
+
+        double checkpointSeconds = -1;
+        long checkpointBytes = 0;
+        if (checkpointFile != null) {
+            long checkpointStart = System.nanoTime();
+            checkpointBytes = api.saveSnapshot(Path.of(checkpointFile));
+            checkpointSeconds = (System.nanoTime() - checkpointStart) / 1e9;
+        }
+
+        AsyncLogWriter.Stats logStats = GardenLogger.getAsyncStats();
+        GardenLogger.disableAsync();
+
+        System.out.println("=== Headless simulation report ===");
+        System.out.printf("plants=%d days=%d seed=%d cores=%d log=%s mode=%s%n",
+                plants, days, seed, Runtime.getRuntime().availableProcessors(), logMode,
+                collapse ? "fast-forward+collapse" : fastForward ? "fast-forward" : "day-by-day");
+        System.out.printf("setup:            %.3f s%n", setupSeconds);
+        System.out.printf("run:              %.3f s%n", seconds);
+        System.out.printf("days/sec:         %.2f%n", days / seconds);
+        System.out.printf("events/sec:       %.1f%n", events / seconds);
+        System.out.printf("plants-updated/s: %.0f%n", plantUpdates / seconds);
+        if (warp != null) {
+            System.out.printf("collapsed events: %d / %d%n", warp.collapsedEvents(), warp.events());
+        }
+        System.out.printf("alive at end:     %d / %d%n", manager.getAliveCount(), plants);
+        if (checkpointSeconds >= 0) {
+            System.out.printf("checkpoint:       %.3f s (%.1f MB)%n", checkpointSeconds, checkpointBytes / (1024.0 * 1024.0));
+        }
+        System.out.printf("peak heap:        %.1f MB%n", peakHeapBytes() / (1024.0 * 1024.0));
+        if (logStats != null) System.out.println("logger:           " + logStats);
+        if (metrics) {
+            System.out.println("=== Metrics ===");
+            System.out.print(MetricsRegistry.global().dump());
+        }
+    }
+
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+}
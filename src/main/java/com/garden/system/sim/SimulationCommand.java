@@ -0,0 +1,84 @@
+package com.garden.system.sim;
+
+import com.garden.system.model.GardenAggregates;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable request for the simulation thread. Each command mirrors one
+ * GertenSimulationAPI / GardenManager call; {@link SimulationService} queues them and
+ * runs them in submission order.
+ *
+ * @param <R> result delivered through the caller's CompletableFuture
+ */
+public sealed interface SimulationCommand<R> {
+
+    record InitializeGarden() implements SimulationCommand<Void> { }
+
+    record Rain(int amount) implements SimulationCommand<Void> { }
+
+    record Drought(int amount) implements SimulationCommand<Void> { }
+
+    record Temperature(int temp) implements SimulationCommand<Void> { }
+
+    record Parasite(String pest) implements SimulationCommand<Void> { }
+
+    /** One full DayCycle (maintenance, weather, pests, heartbeat). */
+    record RunDay(int day) implements SimulationCommand<Void> { }
+
+    /**
+     * Days {@code firstDay .. firstDay + days - 1} in one go with logging muted (TimeWarp);
+     * {@code collapse} skips events known to be no-ops in the current state.
+     */
+    record FastForward(int firstDay, int days, boolean collapse) implements SimulationCommand<FastForwardReport> { }
+
+    record Heartbeat(int day) implements SimulationCommand<Void> { }
+
+    /** Logs the garden summary and every plant (GertenSimulationAPI.getState) and returns them. */
+    record GetState() implements SimulationCommand<StateReport> { }
+
+    /** GertenSimulationAPI.getPlants: names, water requirements and parasites. */
+    record GetPlants() implements SimulationCommand<Map<String, Object>> { }
+
+    /** The garden's running totals (GertenSimulationAPI.getAggregates); O(1), logs nothing. */
+    record GetAggregates() implements SimulationCommand<GardenAggregates> { }
+
+    /** Result is the new plant's handle. */
+    record AddPlant(String name, String type, int waterRequirement, List<String> pests)
+            implements SimulationCommand<Integer> {
+        public AddPlant {
+            pests = List.copyOf(pests);
+        }
+    }
+
+    enum CareAction { WATER, HEAL, REMOVE_PEST, FERTILIZE, EMERGENCY_TREATMENT }
+
+    /** Result is whether the action applied; {@code amount} is used by WATER and HEAL. */
+    record Care(CareAction action, int handle, int amount) implements SimulationCommand<Boolean> { }
+
+    /** Care by plant name; the name is resolved on the simulation thread. */
+    record CareNamed(CareAction action, String name, int amount) implements SimulationCommand<Boolean> { }
+
+    enum Device { HEATER_ON, HEATER_OFF, COOLER_ON, COOLER_OFF }
+
+    record SetDevice(Device device) implements SimulationCommand<Void> { }
+
+    /** Checkpoint to a file (GardenSnapshot); result is the snapshot size in bytes. */
+    record SaveSnapshot(Path file) implements SimulationCommand<Long> { }
+
+    /**
+     * Replace the garden with a checkpoint; result is the restored plant count. A non-null
+     * {@code checksum} (the snapshot's stored CRC32C, set when the restore is journaled)
+     * makes the restore fail unless the file still holds that snapshot.
+     */
+    record RestoreSnapshot(Path file, Integer checksum) implements SimulationCommand<Integer> {
+        public RestoreSnapshot(Path file) {
+            this(file, null);
+        }
+    }
+
+    /** Snapshots of what changed since the previous drain (for rendering). */
+    record DrainChanges() implements SimulationCommand<GardenChanges> { }
+}
@@ -0,0 +1,409 @@
+package com.garden.system.sim;
+
+import com.garden.system.api.GertenSimulationAPI;
+import com.garden.system.manager.GardenManager;
+import com.garden.system.model.PlantSnapshot;
+import com.garden.system.model.PlantStore;
+import com.garden.system.persist.GardenSnapshot;
+import com.garden.system.sim.SimulationCommand.*;
+import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-writer front end for one garden. Any thread may submit commands; they run
+ * one batch at a time, in submission order, so only one thread ever touches this
+ * garden's GardenManager and store. Callers get a CompletableFuture and never block
+ * (continuations that touch JavaFX must hop back with Platform::runLater).
+ *
+ * By default the service owns a dedicated thread ("garden-sim"). GardenRegistry
+ * instead gives each garden a lane: a single-thread executor shared with other
+ * gardens, so a garden always runs on the same thread and lanes spread gardens over
+ * the cores. Batches are re-scheduled after each drain so gardens on a lane take turns.
+ *
+ * The change listener fires once per batch that changed the garden, not per command.
+ *
+ * With an EventJournal set, every command that changes the garden is journaled before
+ * it runs, and results are delivered only after the batch's journal commit (one fsync
+ * per batch). Each RunDay and FastForward draws a fresh seed from the service's RNG and
+ * records it, so {@link #recover} can rebuild the garden exactly.
+ */
+public class SimulationService implements AutoCloseable {
+    private static final int MAX_BATCH = 256;
+
+    private record Pending<R>(SimulationCommand<R> command, CompletableFuture<R> result) { }
+
+    /** A result held back until the batch's journal commit. */
+    private record Outcome<R>(CompletableFuture<R> future, R value, Throwable error) {
+        void deliver() {
+            if (error == null) future.complete(value);
+            else future.completeExceptionally(error);
+        }
+    }
+
+    private final GertenSimulationAPI api;
+    private final GardenManager manager;
+    private final DayCycle dayCycle;
+    private final TimeWarp timeWarp;
+    // Seeds for RunDay and FastForward; each day runs on its own Random(seed) so it can be replayed alone
+    private final Random seeds;
+    // Tag for this garden's log lines (null = untagged, as for the single-garden app)
+    private final String logContext;
+    private final Queue<Pending<?>> queue = new ConcurrentLinkedQueue<>();
+    // True while a drain is queued or running on the executor
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Runnable drainTask = this::drain;
+    private Executor executor;
+    private ExecutorService ownExecutor;
+    private volatile boolean running = true;
+    private volatile Runnable changeListener = () -> { };
+
+    // Touched only by the draining thread
+    private boolean changed;
+    private EventJournal journal;
+    private final List<Outcome<?>> awaitingCommit = new ArrayList<>();
+
+    private final AtomicLong commandsRun = new AtomicLong();
+    private final AtomicLong batchesRun = new AtomicLong();
+
+    public SimulationService(GertenSimulationAPI api, GardenManager manager, Random random) {
+        this(api, manager, random, null);
+    }
+
+    public SimulationService(GertenSimulationAPI api, GardenManager manager, Random random, String logContext) {
+        this.api = api;
+        this.manager = manager;
+        this.dayCycle = new DayCycle(api, manager, random);
+        this.timeWarp = new TimeWarp(api, manager);
+        this.seeds = random;
+        this.logContext = logContext;
+        // The API reports state changes on the draining thread; publish them per batch
+        api.setRefreshListener(() -> changed = true);
+    }
+
+    /** Runs on a dedicated thread owned (and shut down) by this service. */
+    public SimulationService start() {
+        ownExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "garden-sim");
+            t.setDaemon(true);
+            return t;
+        });
+        return start(ownExecutor);
+    }
+
+    /**
+     * Runs on a caller-provided executor. It must not run two tasks of this service at
+     * once (the service never schedules overlapping drains); a single-thread executor
+     * additionally gives the garden thread affinity.
+     */
+    public SimulationService start(Executor executor) {
+        this.executor = executor;
+        schedule();
+        return this;
+    }
+
+    /**
+     * Journal for the commands that change the garden. Set it before {@link #start};
+     * the caller keeps ownership and closes it after {@link #close}.
+     */
+    public void setJournal(EventJournal journal) {
+        if (executor != null) throw new IllegalStateException("Set the journal before start()");
+        this.journal = journal;
+    }
+
+    /** Called on the draining thread after each batch that changed the garden. */
+    public void setChangeListener(Runnable listener) {
+        this.changeListener = listener == null ? () -> { } : listener;
+    }
+
+    /** Queue a command; safe from any thread. Fails the future if the service is stopped. */
+    public <R> CompletableFuture<R> submit(SimulationCommand<R> command) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        if (!running) {
+            result.completeExceptionally(stopped());
+            return result;
+        }
+        queue.add(new Pending<>(command, result));
+        schedule();
+        return result;
+    }
+
+    public long getCommandsRun() { return commandsRun.get(); }
+    public long getBatchesRun() { return batchesRun.get(); }
+    public int getQueueDepth() { return queue.size(); }
+    public GardenManager getManager() { return manager; }
+    public GertenSimulationAPI getApi() { return api; }
+
+    /** Stops accepting commands, runs what is already queued, then stops an owned thread (waits up to 1s). */
+    @Override
+    public void close() {
+        if (!running) return;
+        running = false;
+        schedule();
+        if (ownExecutor != null) {
+            ownExecutor.shutdown();
+            try {
+                ownExecutor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Simulation service is stopped");
+    }
+
+    // --- Draining (one thread at a time) ---
+
+    private void schedule() {
+        if (executor != null && !queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(drainTask);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                failAll();
+            }
+        }
+    }
+
+    private void drain() {
+        String previousContext = GardenLogger.setContext(logContext);
+        try {
+            Pending<?> pending;
+            for (int n = 0; n < MAX_BATCH && (pending = queue.poll()) != null; n++) {
+                run(pending);
+            }
+            if (journal != null) commitJournal();
+            batchesRun.incrementAndGet();
+            if (changed) {
+                changed = false;
+                notifyChanged();
+            }
+        } finally {
+            GardenLogger.setContext(previousContext);
+            scheduled.set(false);
+        }
+        // More work (or work that raced with the flag reset): queue another turn
+        schedule();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> void run(Pending<R> pending) {
+        SimulationCommand<R> command = pending.command();
+        long seed = command instanceof RunDay || command instanceof FastForward ? seeds.nextLong() : 0;
+
+        R value = null;
+        Throwable error = null;
+        try {
+            if (journal != null && EventJournal.isJournaled(command)) {
+                // A restore runs from the copy the journal pins, so replay reads the same bytes
+                if (command instanceof RestoreSnapshot c) command = (SimulationCommand<R>) journal.pin(c);
+                // Write-ahead: the record precedes the change it describes
+                journal.append(api.getSimulatedHours(), seed, command);
+            }
+            value = execute(command, seed);
+        } catch (Throwable t) {
+            GardenLogger.logEvent(Level.ERROR, "SIM", command + " failed: " + t.getMessage());
+            error = t;
+        }
+        Outcome<R> outcome = new Outcome<>(pending.result(), value, error);
+        if (journal == null) outcome.deliver();
+        else awaitingCommit.add(outcome);
+        commandsRun.incrementAndGet();
+    }
+
+    /** Group commit: one journal write (and fsync) for the batch, then its results go out. */
+    private void commitJournal() {
+        try {
+            journal.commit();
+            for (Outcome<?> outcome : awaitingCommit) outcome.deliver();
+        } catch (IOException e) {
+            GardenLogger.logEvent(Level.ERROR, "SIM", "Journal commit failed: " + e.getMessage());
+            UncheckedIOException failure = new UncheckedIOException("Applied but not journaled", e);
+            for (Outcome<?> outcome : awaitingCommit) outcome.future().completeExceptionally(failure);
+        } finally {
+            awaitingCommit.clear();
+        }
+    }
+
+    // --- Recovery ---
+
+    /**
+     * Rebuilds the garden from a snapshot (or null to start from the current state) and
+     * then the journal records after it, running them directly on the calling thread at
+     * full speed. Call before {@link #start}. Returns the number of records replayed.
+     */
+    public long recover(Path snapshot, Path journalFile) throws IOException {
+        if (executor != null) throw new IllegalStateException("Recover before start()");
+        String previousContext = GardenLogger.setContext(logContext);
+        try {
+            long after = 0;
+            if (snapshot != null) {
+                GardenSnapshot.Restored restored = api.restoreSnapshot(snapshot);
+                // Journaled handles were issued in the generation the snapshot was saved in
+                manager.resumeGeneration(restored.generation());
+                after = restored.journalSequence();
+            }
+            long[] diverged = {0};
+            long replayed = EventJournal.read(journalFile, after, entry -> {
+                if (api.getSimulatedHours() != entry.hour()) diverged[0]++;
+                execute(entry.command(), entry.seed());
+            });
+            if (diverged[0] > 0) {
+                GardenLogger.logEvent(Level.WARN, "SIM", diverged[0] + " replayed command(s) ran at a different simulated hour than recorded");
+            }
+            GardenLogger.logEvent(Level.INFO, "SIM", "Replayed " + replayed + " journaled command(s) after #" + after);
+            return replayed;
+        } finally {
+            GardenLogger.setContext(previousContext);
+        }
+    }
+
+    private void notifyChanged() {
+        try {
+            changeListener.run();
+        } catch (Exception e) {
+            GardenLogger.logEvent(Level.ERROR, "SIM", "Change listener failed: " + e.getMessage());
+        }
+    }
+
+    private void failAll() {
+        Pending<?> pending;
+        while ((pending = queue.poll()) != null) pending.result().completeExceptionally(stopped());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R execute(SimulationCommand<R> command, long seed) {
+        Object result = switch (command) {
+            case InitializeGarden c -> {
+                api.initializeGarden();
+                yield null;
+            }
+            case Rain c -> {
+                api.rain(c.amount());
+                yield null;
+            }
+            case Drought c -> {
+                api.drought(c.amount());
+                yield null;
+            }
+            case Temperature c -> {
+                api.temperature(c.temp());
+                yield null;
+            }
+            case Parasite c -> {
+                api.parasite(c.pest());
+                yield null;
+            }
+            case RunDay c -> {
+                dayCycle.runDay(c.day(), new Random(seed));
+                yield null;
+            }
+            case FastForward c -> {
+                changed = true;
+                yield timeWarp.run(c.firstDay(), c.days(), seed, c.collapse());
+            }
+            case Heartbeat c -> {
+                api.heartbeat(c.day());
+                yield null;
+            }
+            case GetState c -> {
+                api.getState();
+                yield stateReport();
+            }
+            case GetPlants c -> api.getPlants();
+            case GetAggregates c -> api.getAggregates();
+            case AddPlant c -> {
+                changed = true;
+                yield manager.handleOf(manager.addPlant(c.name(), c.type(), c.waterRequirement(), c.pests()));
+            }
+            case Care c -> care(c.action(), c.handle(), c.amount());
+            case CareNamed c -> care(c.action(), api.getPlantHandle(c.name()), c.amount());
+            case SetDevice c -> {
+                switch (c.device()) {
+                    case HEATER_ON -> manager.activateHeater();
+                    case HEATER_OFF -> manager.deactivateHeater();
+                    case COOLER_ON -> manager.activateCooler();
+                    case COOLER_OFF -> manager.deactivateCooler();
+                }
+                yield null;
+            }
+            case SaveSnapshot c -> {
+                try {
+                    // Snapshot + journal tail must not skip or repeat a record
+                    long sequence = 0;
+                    if (journal != null) {
+                        journal.commit();
+                        sequence = journal.lastSequence();
+                    }
+                    yield api.saveSnapshot(c.file(), sequence);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            case RestoreSnapshot c -> {
+                try {
+                    if (c.checksum() != null && GardenSnapshot.storedChecksum(c.file()) != c.checksum()) {
+                        throw new IOException("Snapshot " + c.file() + " is not the one journaled (CRC32C "
+                                + Integer.toHexString(c.checksum()) + ")");
+                    }
+                    yield api.restoreSnapshot(c.file()).plants();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            case DrainChanges c -> drainChanges();
+        };
+        return (R) result;
+    }
+
+    private boolean care(CareAction action, int handle, int amount) {
+        return switch (action) {
+            case WATER -> api.waterPlant(handle, amount);
+            case HEAL -> api.healPlant(handle, amount);
+            case REMOVE_PEST -> api.removePest(handle);
+            case FERTILIZE -> api.applyFertilizer(handle);
+            case EMERGENCY_TREATMENT -> api.emergencyTreatment(handle);
+        };
+    }
+
+    private StateReport stateReport() {
+        PlantStore store = manager.getStore();
+        List<PlantSnapshot> plants = new ArrayList<>(store.size());
+        for (int i = 0; i < store.size(); i++) plants.add(store.snapshot(i));
+        int hours = api.getSimulatedHours();
+        return new StateReport(hours, hours / 24, store.getAliveCount(), plants);
+    }
+
+    private GardenChanges drainChanges() {
+        PlantStore store = manager.getStore();
+        int[] dirty = store.drainDirty();
+        boolean layoutChanged = manager.consumeLayoutChange();
+        List<PlantSnapshot> plants;
+        if (layoutChanged) {
+            plants = new ArrayList<>(store.size());
+            for (int i = 0; i < store.size(); i++) plants.add(store.snapshot(i));
+        } else {
+            plants = new ArrayList<>(dirty.length);
+            for (int row : dirty) plants.add(store.snapshot(row));
+        }
+        return new GardenChanges(layoutChanged, plants);
+    }
+}
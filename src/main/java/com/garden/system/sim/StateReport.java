@@ -0,0 +1,9 @@
+package com.garden.system.sim;
+
+import com.garden.system.model.PlantSnapshot;
+
+import java.util.List;
+
+/** Garden summary plus every plant, as returned by the GetState command. */
+public record StateReport(int simulatedHours, int day, long alive, List<PlantSnapshot> plants) {
+}
@@ -0,0 +1,159 @@
+package com.garden.system.sim;
+
+import com.garden.system.api.GertenSimulationAPI;
+import com.garden.system.manager.DeviceState;
+import com.garden.system.manager.GardenManager;
+import com.garden.system.model.PlantStore;
+import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Fast-forward mode: runs many DayCycles in one call with per-event logging muted
+ * (GardenLogger.MUTE, which tick-engine workers inherit, so muted lines are never even
+ * built), logging only state transitions (plants dying, heater/cooler switching) and a
+ * closing summary. Run it through the FastForward command so the UI refreshes once for
+ * the whole stretch.
+ *
+ * Day {@code i} runs on {@code new Random(r.nextLong())} for {@code r = new Random(seed)},
+ * so a fast-forward ends in the same garden as the equivalent RunDays.
+ *
+ * With {@code collapse}, an event (kind and argument) that was seen to leave the garden
+ * exactly as it found it is skipped the next time the garden is in that same state,
+ * since it would be a no-op again; only the clock moves. This pays off once a garden
+ * has settled or died out. Skipped heartbeats do not reach an external monitor, and
+ * "same state" is judged by a 64-bit hash (PlantStore.fingerprint plus device state).
+ */
+public final class TimeWarp {
+    private static final int MAX_NAMED_DEATHS = 10;
+
+    private final GertenSimulationAPI api;
+    private final GardenManager manager;
+
+    // Per run; only the simulation thread calls run()
+    private boolean collapse;
+    private final Map<String, Long> noOpStates = new HashMap<>();
+    private long state;
+    private long events;
+    private long collapsed;
+    private Consumer<String> outerCapture;
+
+    public TimeWarp(GertenSimulationAPI api, GardenManager manager) {
+        this.api = api;
+        this.manager = manager;
+    }
+
+    /** Runs days {@code firstDay .. firstDay + days - 1} and returns what happened. */
+    public FastForwardReport run(int firstDay, int days, long seed, boolean collapse) {
+        if (days < 0) throw new IllegalArgumentException("days must be >= 0: " + days);
+        long start = System.nanoTime();
+        int hoursBefore = api.getSimulatedHours();
+        long aliveBefore = manager.getAliveCount();
+        this.collapse = collapse;
+        noOpStates.clear();
+        events = 0;
+        collapsed = 0;
+
+        Random seeds = new Random(seed);
+        DayCycle cycle = new DayCycle(api, manager, seeds, this::fire);
+        outerCapture = GardenLogger.captureThread(GardenLogger.MUTE);
+        try {
+            BitSet alive = aliveRows(manager.getStore());
+            long aliveCount = aliveBefore;
+            DeviceState devices = manager.getDeviceState();
+            state = collapse ? fingerprint() : 0;
+
+            for (int day = firstDay; day < firstDay + days; day++) {
+                cycle.runDay(day, new Random(seeds.nextLong()));
+
+                long now = manager.getAliveCount();
+                if (now < aliveCount) {
+                    reportDeaths(day, alive, aliveCount - now);
+                    aliveCount = now;
+                }
+                DeviceState after = manager.getDeviceState();
+                if (after.heaterOn() != devices.heaterOn() || after.coolerOn() != devices.coolerOn()) {
+                    emit("Day " + day + ": heater " + onOff(after.heaterOn()) + ", cooler " + onOff(after.coolerOn()));
+                }
+                devices = after;
+            }
+        } finally {
+            GardenLogger.captureThread(outerCapture);
+            outerCapture = null;
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        FastForwardReport report = new FastForwardReport(firstDay, days, events, collapsed, cycle.getPlantUpdates(),
+                api.getSimulatedHours() - hoursBefore, aliveBefore, manager.getAliveCount(), seconds);
+        GardenLogger.logEvent(Level.INFO, "WARP", () -> String.format(
+                "Fast-forwarded %d day(s) (days %d-%d) in %.3f s: %d events (%d collapsed), +%d hours, alive %d -> %d",
+                days, firstDay, firstDay + days - 1, seconds, report.events(), report.collapsedEvents(),
+                report.hours(), aliveBefore, report.aliveAfter()));
+        return report;
+    }
+
+    /** DayCycle's event gate: runs the event, or skips it when it is a known no-op here. */
+    private void fire(String event, int arg, int hours, Runnable action) {
+        events++;
+        if (!collapse) {
+            action.run();
+            return;
+        }
+        String key = event + ':' + arg;
+        Long noOpAt = noOpStates.get(key);
+        if (noOpAt != null && noOpAt == state) {
+            api.advanceHours(hours);
+            collapsed++;
+            return;
+        }
+        action.run();
+        long after = fingerprint();
+        if (after == state) noOpStates.put(key, state);
+        state = after;
+    }
+
+    private long fingerprint() {
+        return manager.getStore().fingerprint() * 31 + manager.getDeviceState().hashCode();
+    }
+
+    private static BitSet aliveRows(PlantStore store) {
+        BitSet rows = new BitSet(store.size());
+        for (int i = 0, n = store.size(); i < n; i++) {
+            if (store.isAlive(i)) rows.set(i);
+        }
+        return rows;
+    }
+
+    /** Logs who died today (the first few by name) and drops them from {@code alive}. */
+    private void reportDeaths(int day, BitSet alive, long died) {
+        PlantStore store = manager.getStore();
+        StringBuilder names = new StringBuilder();
+        int found = 0;
+        for (int i = alive.nextSetBit(0); i >= 0; i = alive.nextSetBit(i + 1)) {
+            if (store.isAlive(i)) continue;
+            alive.clear(i);
+            if (found++ < MAX_NAMED_DEATHS) names.append(found == 1 ? "" : ", ").append(store.name(i));
+        }
+        if (found > MAX_NAMED_DEATHS) names.append(" and ").append(found - MAX_NAMED_DEATHS).append(" more");
+        emit("Day " + day + ": " + died + " plant(s) died: " + names);
+    }
+
+    /** Logs past the mute. */
+    private void emit(String message) {
+        GardenLogger.captureThread(outerCapture);
+        try {
+            GardenLogger.logEvent(Level.INFO, "WARP", message);
+        } finally {
+            GardenLogger.captureThread(GardenLogger.MUTE);
+        }
+    }
+
+    private static String onOff(boolean on) {
+        return on ? "on" : "off";
+    }
+}
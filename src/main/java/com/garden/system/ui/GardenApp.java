@@ -2,8 +2,14 @@ package com.garden.system.ui;
 
 import com.garden.system.api.GertenSimulationAPI;
 import com.garden.system.manager.GardenManager;
-import com.garden.system.model.Plant;
+import com.garden.system.model.PlantSnapshot;
+import com.garden.system.sim.EventJournal;
+import com.garden.system.sim.GardenChanges;
+import com.garden.system.sim.SimulationCommand.*;
+import com.garden.system.sim.SimulationService;
+import com.garden.system.util.AsyncLogWriter;
 import com.garden.system.util.GardenLogger;
+import com.garden.system.util.GardenLogger.Level;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Application;
@@ -11,25 +17,39 @@ import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 public class GardenApp extends Application {
 
     private static TilePane gardenGrid;
-    private static TextArea logArea; // The new UI Log
+    private static UiLogSink logSink; // The new UI Log
     private static Label dayLabel;
+    // Collapses refreshUI() calls into at most one render per frame
+    private static RenderScheduler renderScheduler;
+    // One cached card per plant id, patched in place by refreshUI
+    private static final Map<Integer, PlantCard> cards = new HashMap<>();
+    // A DrainChanges request is on its way back from the simulation thread (FX thread only)
+    private static boolean changesInFlight;
     private static int dayCount = 1;
+    private static final int SEASON_DAYS = 180;
 
-    private final GertenSimulationAPI api = new GertenSimulationAPI();
-    private final Random random = new Random();
+    // All garden reads and writes go through the simulation thread; the FX thread only submits commands
+    private static SimulationService simulation;
+    private static EventJournal journal;
     private Timeline autoSimulation;
 
     @Override
@@ -44,12 +64,28 @@ public class GardenApp extends Application {
         } catch (Exception e) { /* Ignore */ }
 
         // --- 1. SETUP LOGGING ---
-        logArea = new TextArea();
-        logArea.setEditable(false);
-        logArea.setWrapText(true);
-        logArea.setStyle("-fx-font-family: 'Consolas', monospace; -fx-font-size: 11px;");
-        // Connect the Logger class to this Text Area
-        GardenLogger.setUiCallback(msg -> logArea.appendText(msg + "\n"));
+        // Keeps the newest 2000 lines; drained once per frame so Auto Run can't flood the FX thread
+        logSink = new UiLogSink(2000);
+        // Connect the Logger class to the log pane
+        GardenLogger.setUiCallback(logSink);
+        // Long Auto Runs log a lot: keep file I/O off the FX thread
+        GardenLogger.enableAsync(8192, AsyncLogWriter.OverflowPolicy.BLOCK, 1);
+
+        // Logged so a run can be reproduced with -Dgarden.seed=N
+        long seed = Long.getLong("garden.seed", System.nanoTime());
+        GardenLogger.logEvent(Level.INFO, "SIM", "Random seed=" + seed);
+        simulation = new SimulationService(new GertenSimulationAPI(), GardenManager.getInstance(), new Random(seed));
+        // -Dgarden.journal=FILE records every command for replay (see EventJournal)
+        String journalFile = System.getProperty("garden.journal");
+        if (journalFile != null) {
+            try {
+                journal = EventJournal.open(Path.of(journalFile), true);
+                simulation.setJournal(journal);
+            } catch (IOException e) {
+                GardenLogger.logEvent(Level.ERROR, "SIM", "Cannot open journal " + journalFile + ": " + e.getMessage());
+            }
+        }
+        simulation.start();
 
         // --- 2. HEADER ---
         Label title = new Label("🌿 Computerized Garden System");
@@ -73,17 +109,20 @@ public class GardenApp extends Application {
         gardenGrid.setPadding(new Insets(10));
         gardenGrid.setAlignment(Pos.TOP_LEFT);
 
+        renderScheduler = new RenderScheduler(GardenApp::renderChanges, 30);
+        renderScheduler.start();
+
         ScrollPane gridScroll = new ScrollPane(gardenGrid);
         gridScroll.setFitToWidth(true);
         gridScroll.setStyle("-fx-background-color: transparent;");
 
         // Container for Log (Added Style for background opacity)
-        VBox logContainer = new VBox(5, new Label("📋 System Activity Log"), logArea);
+        VBox logContainer = new VBox(5, new Label("📋 System Activity Log"), logSink.getView(), logSink.getDroppedLabel());
         logContainer.setPadding(new Insets(10));
         // NEW: Semi-transparent white background for the log area
         logContainer.setStyle("-fx-background-color: rgba(255, 255, 255, 0.85); -fx-background-radius: 10;");
 
-        VBox.setVgrow(logArea, Priority.ALWAYS);
+        VBox.setVgrow(logSink.getView(), Priority.ALWAYS);
 
         // SplitPane lets user resize between Grid and Log
         SplitPane splitPane = new SplitPane();
@@ -104,10 +143,11 @@ public class GardenApp extends Application {
         primaryStage.show();
 
         // Initial Log
-        GardenLogger.log("SYSTEM STARTUP: Ready for simulation.");
+        GardenLogger.log(Level.INFO, "UI", "SYSTEM STARTUP: Ready for simulation.");
 
         // Seed garden with sample plants for demo readiness
-        api.initializeGarden();
+        simulation.setChangeListener(GardenApp::refreshUI);
+        simulation.submit(new InitializeGarden());
     }
 
     // --- Sidebar ---
@@ -137,33 +177,31 @@ public class GardenApp extends Application {
             String type = typeSelect.getValue();
 
             if (name.isEmpty() || type == null) {
-                GardenLogger.log("UI: Cannot plant without Name and Type.");
+                GardenLogger.log(Level.INFO, "UI", "UI: Cannot plant without Name and Type.");
                 return;
             }
 
             // Create Plant based on Type
-            Plant newPlant = createPlantByType(name, type);
-            GardenManager.getInstance().addPlant(newPlant);
-            GardenLogger.log("UI: Planted new " + type + " named '" + name + "'");
+            simulation.submit(createPlantByType(name, type));
+            GardenLogger.log(Level.INFO, "UI", () -> "UI: Planted new " + type + " named '" + name + "'");
             nameInput.clear();
-            refreshUI();
         });
 
         box.getChildren().addAll(sideTitle, new Label("Name:"), nameInput, new Label("Type:"), typeSelect, addBtn);
         return box;
     }
 
-    private Plant createPlantByType(String name, String type) {
+    private AddPlant createPlantByType(String name, String type) {
         // Define stats based on type
         switch (type) {
-            case "Rose": return new Plant(name, type, 10, Arrays.asList("aphids", "beetles"));
-            case "Tomato": return new Plant(name, type, 15, Arrays.asList("worms", "blight"));
-            case "Basil": return new Plant(name, type, 8, Arrays.asList("slugs"));
-            case "Cactus": return new Plant(name, type, 2, Arrays.asList("rot"));
-            case "Sunflower": return new Plant(name, type, 12, Arrays.asList("birds"));
-            case "Corn": return new Plant(name, type, 20, Arrays.asList("locusts"));
-            case "Tulip": return new Plant(name, type, 10, Arrays.asList("aphids"));
-            default: return new Plant(name, "Generic", 10, Arrays.asList("bugs"));
+            case "Rose": return new AddPlant(name, type, 10, Arrays.asList("aphids", "beetles"));
+            case "Tomato": return new AddPlant(name, type, 15, Arrays.asList("worms", "blight"));
+            case "Basil": return new AddPlant(name, type, 8, Arrays.asList("slugs"));
+            case "Cactus": return new AddPlant(name, type, 2, Arrays.asList("rot"));
+            case "Sunflower": return new AddPlant(name, type, 12, Arrays.asList("birds"));
+            case "Corn": return new AddPlant(name, type, 20, Arrays.asList("locusts"));
+            case "Tulip": return new AddPlant(name, type, 10, Arrays.asList("aphids"));
+            default: return new AddPlant(name, "Generic", 10, Arrays.asList("bugs"));
         }
     }
 
@@ -178,6 +216,11 @@ public class GardenApp extends Application {
         btnSimulate.setStyle("-fx-background-color: #673ab7; -fx-text-fill: white; -fx-font-weight: bold;");
         btnSimulate.setOnAction(e -> simulateDayCycle());
 
+        Button btnSeason = new Button("⏩ Season");
+        btnSeason.setStyle("-fx-background-color: #4527a0; -fx-text-fill: white; -fx-font-weight: bold;");
+        btnSeason.setTooltip(new Tooltip("Fast-forward " + SEASON_DAYS + " days (per-event log muted)"));
+        btnSeason.setOnAction(e -> fastForward(SEASON_DAYS));
+
         ToggleButton autoBtn = new ToggleButton("⏱ Auto Run");
         autoBtn.setStyle("-fx-background-color: #455a64; -fx-text-fill: white; -fx-font-weight: bold;");
         autoBtn.setOnAction(e -> {
@@ -194,16 +237,16 @@ public class GardenApp extends Application {
 
         // 2. Environment Triggers
         Button btnRain = createStyledButton("🌧 Rain", "btn-rain");
-        btnRain.setOnAction(e -> api.rain(10));
+        btnRain.setOnAction(e -> simulation.submit(new Rain(10)));
 
         Button btnDrought = createStyledButton("☀️ Drought", "btn-sun");
-        btnDrought.setOnAction(e -> api.drought(10));
+        btnDrought.setOnAction(e -> simulation.submit(new Drought(10)));
 
         Button btnHot = createStyledButton("🔥 Heat Wave", "btn-sun");
-        btnHot.setOnAction(e -> api.temperature(105));
+        btnHot.setOnAction(e -> simulation.submit(new Temperature(105)));
 
         Button btnPest = createStyledButton("🐛 Pest", "btn-pest");
-        btnPest.setOnAction(e -> api.parasite("aphids"));
+        btnPest.setOnAction(e -> simulation.submit(new Parasite("aphids")));
 
         Separator sep2 = new Separator(Orientation.VERTICAL);
 
@@ -212,11 +255,11 @@ public class GardenApp extends Application {
         // Heater Group
         Button btnHeaterOn = new Button("Heater ON");
         btnHeaterOn.setStyle("-fx-background-color: #d84315; -fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 10px;");
-        btnHeaterOn.setOnAction(e -> GardenManager.getInstance().activateHeater());
+        btnHeaterOn.setOnAction(e -> simulation.submit(new SetDevice(Device.HEATER_ON)));
 
         Button btnHeaterOff = new Button("Heater OFF");
         btnHeaterOff.setStyle("-fx-background-color: #5d4037; -fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 10px;");
-        btnHeaterOff.setOnAction(e -> GardenManager.getInstance().deactivateHeater());
+        btnHeaterOff.setOnAction(e -> simulation.submit(new SetDevice(Device.HEATER_OFF)));
 
         VBox heaterGroup = new VBox(2, btnHeaterOn, btnHeaterOff);
         heaterGroup.setAlignment(Pos.CENTER);
@@ -224,17 +267,17 @@ public class GardenApp extends Application {
         // Cooler Group
         Button btnCoolerOn = new Button("Cooler ON");
         btnCoolerOn.setStyle("-fx-background-color: #0277bd; -fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 10px;");
-        btnCoolerOn.setOnAction(e -> GardenManager.getInstance().activateCooler());
+        btnCoolerOn.setOnAction(e -> simulation.submit(new SetDevice(Device.COOLER_ON)));
 
         Button btnCoolerOff = new Button("Cooler OFF");
         btnCoolerOff.setStyle("-fx-background-color: #37474f; -fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 10px;");
-        btnCoolerOff.setOnAction(e -> GardenManager.getInstance().deactivateCooler());
+        btnCoolerOff.setOnAction(e -> simulation.submit(new SetDevice(Device.COOLER_OFF)));
 
         VBox coolerGroup = new VBox(2, btnCoolerOn, btnCoolerOff);
         coolerGroup.setAlignment(Pos.CENTER);
 
         controls.getChildren().addAll(
-                btnSimulate, autoBtn,
+                btnSimulate, btnSeason, autoBtn,
                 sep1,
                 btnRain, btnDrought, btnHot, btnPest,
                 sep2,
@@ -253,33 +296,15 @@ public class GardenApp extends Application {
     private void simulateDayCycle() {
         dayCount++;
         dayLabel.setText("Day: " + dayCount);
-        GardenLogger.log("--- STARTING DAY " + dayCount + " ---");
-
-        // --- NEW: Perform Daily Maintenance (Water Evaporation) ---
-        GardenManager.getInstance().performDailyMaintenance();
-
-        int randomTemp = 40 + random.nextInt(70);
-        api.temperature(randomTemp);
-
-        if (random.nextInt(100) < 30) {
-            int rain = 5 + random.nextInt(10);
-            api.rain(rain);
-        } else if (random.nextInt(100) < 20) {
-            // Drought scenario - water loss due to evaporation
-            int drought = 5 + random.nextInt(10);
-            api.drought(drought);
-        } else {
-            GardenLogger.log("WEATHER: Sunny day.");
-        }
-
-        if (random.nextInt(100) < 60) {
-            // Increased pest chance for presentation (60% chance)
-            String[] pests = {"aphids", "worms", "slugs", "rot", "locusts"};
-            api.parasite(pests[random.nextInt(pests.length)]);
-        }
+        simulation.submit(new RunDay(dayCount));
+    }
 
-        refreshUI();
-        api.heartbeat(dayCount);
+    /** Runs the next {@code days} days in one command; the UI refreshes once when it finishes. */
+    private void fastForward(int days) {
+        int firstDay = dayCount + 1;
+        dayCount += days;
+        dayLabel.setText("Day: " + dayCount);
+        simulation.submit(new FastForward(firstDay, days, true));
     }
 
     private void startAutoSimulation() {
@@ -289,102 +314,86 @@ public class GardenApp extends Application {
         autoSimulation = new Timeline(new KeyFrame(Duration.seconds(10), e -> simulateDayCycle()));
         autoSimulation.setCycleCount(Timeline.INDEFINITE);
         autoSimulation.play();
-        GardenLogger.log("AUTO: Simulation loop started (every 10s).");
+        GardenLogger.log(Level.INFO, "UI", "AUTO: Simulation loop started (every 10s).");
     }
 
     private void stopAutoSimulation() {
         if (autoSimulation != null) {
             autoSimulation.stop();
             autoSimulation = null;
-            GardenLogger.log("AUTO: Simulation loop stopped.");
+            GardenLogger.log(Level.INFO, "UI", "AUTO: Simulation loop stopped.");
         }
     }
 
     // --- Render Cards ---
     public static void refreshUI() {
         // Allow headless API calls to no-op safely before UI is ready
-        if (gardenGrid == null) {
+        if (renderScheduler == null) {
             return;
         }
-        Platform.runLater(() -> {
-            gardenGrid.getChildren().clear();
-            List<Plant> plants = GardenManager.getInstance().getPlants();
-
-            if (plants.isEmpty()) {
-                Label empty = new Label("Garden Empty.");
-                empty.setStyle("-fx-font-size: 18px; -fx-text-fill: #aaa;");
-                gardenGrid.getChildren().add(empty);
-                return;
-            }
-
-            for (Plant p : plants) {
-                gardenGrid.getChildren().add(createPlantCard(p));
-            }
-        });
+        // Only marks the view stale; a day cycle's several calls render once
+        renderScheduler.requestRender();
     }
 
-    private static VBox createPlantCard(Plant p) {
-        VBox card = new VBox(5);
-        card.getStyleClass().add("plant-card");
-
-        // ICON LOGIC: Now uses p.getType() instead of Name
-        Label icon = new Label(getPlantEmoji(p.getType()));
-        icon.getStyleClass().add("plant-icon");
-
-        Label name = new Label(p.getName());
-        name.getStyleClass().add("plant-name");
-
-        Label typeLbl = new Label("(" + p.getType() + ")");
-        typeLbl.setStyle("-fx-font-size: 10px; -fx-text-fill: #777;");
-
-        ProgressBar healthBar = new ProgressBar(p.getHealth() / 100.0);
-        healthBar.setPrefWidth(120);
-        if (p.getHealth() > 70) healthBar.getStyleClass().add("health-bar-high");
-        else if (p.getHealth() > 30) healthBar.getStyleClass().add("health-bar-med");
-        else healthBar.getStyleClass().add("health-bar-low");
-
-        // Show pest status if infested
-        String statusText = "Health: " + p.getHealth() + "%\nWater: " + p.getCurrentWaterLevel() + "/" + p.getWaterRequirement();
-        if (p.hasPest()) {
-            statusText += "\n⚠️ Infested: " + p.getCurrentPest();
+    /**
+     * Asks the simulation thread for snapshots of what changed and patches the cached
+     * cards with them on the FX thread: the child list is only rebuilt when plants were
+     * added/cleared, otherwise just the changed cards update.
+     */
+    private static void renderChanges() {
+        if (changesInFlight) {
+            // Previous snapshot still on its way; try again next frame
+            renderScheduler.requestRender();
+            return;
         }
-        Label detail = new Label(statusText);
-        detail.getStyleClass().add("status-text");
-
-        if (!p.isAlive()) {
-            card.setStyle("-fx-background-color: #cfd8dc; -fx-opacity: 0.7; -fx-background-radius: 15;");
-            icon.setText("💀");
-            name.setText(p.getName() + " (Dead)");
-        } else {
-            // Add click handler for alive plants
-            card.setOnMouseClicked(e -> showPlantActionsDialog(p));
-            card.setStyle("-fx-cursor: hand;"); // Show hand cursor on hover
+        changesInFlight = true;
+        simulation.submit(new DrainChanges()).whenCompleteAsync((changes, error) -> {
+            changesInFlight = false;
+            if (changes != null) applyChanges(changes);
+        }, Platform::runLater);
+    }
+
+    private static void applyChanges(GardenChanges changes) {
+        if (!changes.layoutChanged()) {
+            for (PlantSnapshot p : changes.plants()) {
+                PlantCard card = cards.get(p.id());
+                if (card != null) card.update(p);
+            }
+            return;
         }
 
-        card.getChildren().addAll(icon, name, typeLbl, healthBar, detail);
-        return card;
-    }
+        List<PlantSnapshot> plants = changes.plants();
+        if (plants.isEmpty()) {
+            cards.clear();
+            Label empty = new Label("Garden Empty.");
+            empty.setStyle("-fx-font-size: 18px; -fx-text-fill: #aaa;");
+            gardenGrid.getChildren().setAll(empty);
+            return;
+        }
 
-    private static String getPlantEmoji(String type) {
-        if (type == null) return "🌱";
-        switch (type) {
-            case "Rose": return "🌹";
-            case "Tomato": return "🍅";
-            case "Basil": return "🌿";
-            case "Cactus": return "🌵";
-            case "Sunflower": return "🌻";
-            case "Corn": return "🌽";
-            case "Tulip": return "🌷";
-            default: return "🌱";
+        Map<Integer, PlantCard> kept = new HashMap<>();
+        List<Node> nodes = new ArrayList<>(plants.size());
+        for (PlantSnapshot p : plants) {
+            PlantCard card = cards.get(p.id());
+            if (card != null && card.shows(p)) {
+                card.update(p);
+            } else {
+                card = new PlantCard(p, GardenApp::showPlantActionsDialog);
+            }
+            kept.put(p.id(), card);
+            nodes.add(card.getNode());
         }
+        cards.clear();
+        cards.putAll(kept);
+        gardenGrid.getChildren().setAll(nodes);
     }
 
     // --- Plant Action Dialog ---
-    private static void showPlantActionsDialog(Plant plant) {
-        if (!plant.isAlive()) {
+    private static void showPlantActionsDialog(PlantSnapshot plant) {
+        if (!plant.alive()) {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("Plant Status");
-            alert.setHeaderText(plant.getName() + " is Dead");
+            alert.setHeaderText(plant.name() + " is Dead");
             alert.setContentText("This plant has died and cannot be treated.");
             alert.showAndWait();
             return;
@@ -392,7 +401,7 @@ public class GardenApp extends Application {
 
         Dialog<ButtonType> dialog = new Dialog<>();
         dialog.setTitle("Plant Care Actions");
-        dialog.setHeaderText("Care for: " + plant.getName() + " (" + plant.getType() + ")");
+        dialog.setHeaderText("Care for: " + plant.name() + " (" + plant.type() + ")");
 
         // Create action buttons
         VBox buttonBox = new VBox(10);
@@ -400,15 +409,12 @@ public class GardenApp extends Application {
         buttonBox.setSpacing(10);
         buttonBox.setAlignment(Pos.CENTER);
 
-        GardenManager manager = GardenManager.getInstance();
-
         // Remove Pest button (only if infested)
         if (plant.hasPest()) {
-            Button removePestBtn = new Button("🐛 Remove Pest (" + plant.getCurrentPest() + ")");
+            Button removePestBtn = new Button("🐛 Remove Pest (" + plant.pest() + ")");
             removePestBtn.setStyle("-fx-background-color: #ff9800; -fx-text-fill: white; -fx-font-weight: bold; -fx-pref-width: 250px;");
             removePestBtn.setOnAction(e -> {
-                manager.removePestFromPlant(plant.getName());
-                refreshUI();
+                simulation.submit(new Care(CareAction.REMOVE_PEST, plant.id(), 0));
                 dialog.close();
             });
             buttonBox.getChildren().add(removePestBtn);
@@ -418,8 +424,7 @@ public class GardenApp extends Application {
         Button waterBtn = new Button("💧 Water Plant (+10)");
         waterBtn.setStyle("-fx-background-color: #2196f3; -fx-text-fill: white; -fx-font-weight: bold; -fx-pref-width: 250px;");
         waterBtn.setOnAction(e -> {
-            manager.waterPlant(plant.getName(), 10);
-            refreshUI();
+            simulation.submit(new Care(CareAction.WATER, plant.id(), 10));
             dialog.close();
         });
         buttonBox.getChildren().add(waterBtn);
@@ -428,8 +433,7 @@ public class GardenApp extends Application {
         Button healBtn = new Button("💚 Heal Plant (+20 HP)");
         healBtn.setStyle("-fx-background-color: #4caf50; -fx-text-fill: white; -fx-font-weight: bold; -fx-pref-width: 250px;");
         healBtn.setOnAction(e -> {
-            manager.healPlant(plant.getName(), 20);
-            refreshUI();
+            simulation.submit(new Care(CareAction.HEAL, plant.id(), 20));
             dialog.close();
         });
         buttonBox.getChildren().add(healBtn);
@@ -438,19 +442,17 @@ public class GardenApp extends Application {
         Button fertilizerBtn = new Button("🌿 Apply Fertilizer");
         fertilizerBtn.setStyle("-fx-background-color: #8bc34a; -fx-text-fill: white; -fx-font-weight: bold; -fx-pref-width: 250px;");
         fertilizerBtn.setOnAction(e -> {
-            manager.applyFertilizerToPlant(plant.getName());
-            refreshUI();
+            simulation.submit(new Care(CareAction.FERTILIZE, plant.id(), 0));
             dialog.close();
         });
         buttonBox.getChildren().add(fertilizerBtn);
 
         // Emergency Treatment button (only if health is low)
-        if (plant.getHealth() < 50) {
+        if (plant.health() < 50) {
             Button emergencyBtn = new Button("🚑 Emergency Treatment");
             emergencyBtn.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-weight: bold; -fx-pref-width: 250px;");
             emergencyBtn.setOnAction(e -> {
-                manager.emergencyTreatmentForPlant(plant.getName());
-                refreshUI();
+                simulation.submit(new Care(CareAction.EMERGENCY_TREATMENT, plant.id(), 0));
                 dialog.close();
             });
             buttonBox.getChildren().add(emergencyBtn);
@@ -466,6 +468,23 @@ public class GardenApp extends Application {
         dialog.showAndWait();
     }
 
+    @Override
+    public void stop() {
+        stopAutoSimulation();
+        simulation.close();
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                GardenLogger.logEvent(Level.ERROR, "SIM", "Journal close failed: " + e.getMessage());
+            }
+        }
+        GardenLogger.disableAsync();
+        GardenLogger.setUiCallback(null);
+        logSink.stop();
+        renderScheduler.stop();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
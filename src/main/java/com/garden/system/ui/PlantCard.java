@@ -0,0 +1,121 @@
+package com.garden.system.ui;
+
+import com.garden.system.model.PlantSnapshot;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+
+import java.util.function.Consumer;
+
+/**
+ * Cached card for one plant. Nodes are built once; update() patches only the
+ * labels/bar/styles whose underlying value changed since the last render.
+ * Renders from snapshots, so the FX thread never reads the live store.
+ */
+class PlantCard {
+    private PlantSnapshot plant;
+    private final VBox card = new VBox(5);
+    private final Label icon = new Label();
+    private final Label name = new Label();
+    private final ProgressBar healthBar = new ProgressBar();
+    private final Label detail = new Label();
+
+    // Last rendered values; -1 / null forces the first update to paint everything
+    private int shownHealth = -1;
+    private int shownWater = -1;
+    private String shownPest;
+    private boolean shownAlive;
+    private String shownHealthStyle;
+    private boolean painted;
+
+    PlantCard(PlantSnapshot plant, Consumer<PlantSnapshot> onSelect) {
+        this.plant = plant;
+        card.getStyleClass().add("plant-card");
+        icon.getStyleClass().add("plant-icon");
+        name.getStyleClass().add("plant-name");
+
+        Label typeLbl = new Label("(" + plant.type() + ")");
+        typeLbl.setStyle("-fx-font-size: 10px; -fx-text-fill: #777;");
+
+        healthBar.setPrefWidth(120);
+        detail.getStyleClass().add("status-text");
+
+        // Dead plants ignore clicks; the dialog also re-checks
+        card.setOnMouseClicked(e -> {
+            if (this.plant.alive()) onSelect.accept(this.plant);
+        });
+
+        card.getChildren().addAll(icon, name, typeLbl, healthBar, detail);
+        update(plant);
+    }
+
+    VBox getNode() { return card; }
+
+    /** True if this card was built for the same plant (a cleared garden reuses ids). */
+    boolean shows(PlantSnapshot other) {
+        return plant.name().equals(other.name()) && plant.type().equals(other.type());
+    }
+
+    /** Re-render only the parts whose value changed. */
+    void update(PlantSnapshot plant) {
+        this.plant = plant;
+        int health = plant.health();
+        int water = plant.waterLevel();
+        String pest = plant.pest();
+        boolean alive = plant.alive();
+
+        if (painted && health == shownHealth && water == shownWater
+                && alive == shownAlive && java.util.Objects.equals(pest, shownPest)) {
+            return;
+        }
+
+        if (health != shownHealth) {
+            healthBar.setProgress(health / 100.0);
+            String style = health > 70 ? "health-bar-high" : health > 30 ? "health-bar-med" : "health-bar-low";
+            if (!style.equals(shownHealthStyle)) {
+                if (shownHealthStyle != null) healthBar.getStyleClass().remove(shownHealthStyle);
+                healthBar.getStyleClass().add(style);
+                shownHealthStyle = style;
+            }
+        }
+
+        // Show pest status if infested
+        String statusText = "Health: " + health + "%\nWater: " + water + "/" + plant.waterRequirement();
+        if (pest != null) {
+            statusText += "\n⚠️ Infested: " + pest;
+        }
+        detail.setText(statusText);
+
+        if (!painted || alive != shownAlive) {
+            if (!alive) {
+                card.setStyle("-fx-background-color: #cfd8dc; -fx-opacity: 0.7; -fx-background-radius: 15;");
+                icon.setText("💀");
+                name.setText(plant.name() + " (Dead)");
+            } else {
+                card.setStyle("-fx-cursor: hand;"); // Show hand cursor on hover
+                icon.setText(getPlantEmoji(plant.type()));
+                name.setText(plant.name());
+            }
+        }
+
+        shownHealth = health;
+        shownWater = water;
+        shownPest = pest;
+        shownAlive = alive;
+        painted = true;
+    }
+
+    private static String getPlantEmoji(String type) {
+        if (type == null) return "🌱";
+        switch (type) {
+            case "Rose": return "🌹";
+            case "Tomato": return "🍅";
+            case "Basil": return "🌿";
+            case "Cactus": return "🌵";
+            case "Sunflower": return "🌻";
+            case "Corn": return "🌽";
+            case "Tulip": return "🌷";
+            default: return "🌱";
+        }
+    }
+}
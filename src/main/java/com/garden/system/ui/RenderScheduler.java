@@ -0,0 +1,53 @@
+package com.garden.system.ui;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces render requests: requestRender() only marks the view stale, and the
+ * render callback runs at most once per JavaFX pulse, optionally capped to a
+ * maximum rate so a fast simulation can't drive the UI harder than needed.
+ */
+class RenderScheduler {
+    private final Runnable render;
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private volatile long minIntervalNanos;
+    private long lastRenderNanos;
+    private long renderCount;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (!stale.get()) return;
+            if (now - lastRenderNanos < minIntervalNanos) return;
+            stale.set(false);
+            lastRenderNanos = now;
+            renderCount++;
+            render.run();
+        }
+    };
+
+    /**
+     * @param render           runs on the FX thread
+     * @param maxRendersPerSec cap on render rate; 0 or less means once per pulse
+     */
+    RenderScheduler(Runnable render, double maxRendersPerSec) {
+        this.render = render;
+        setMaxRendersPerSecond(maxRendersPerSec);
+    }
+
+    /** Safe from any thread; many calls within one frame collapse into one render. */
+    void requestRender() {
+        stale.set(true);
+    }
+
+    void setMaxRendersPerSecond(double maxRendersPerSec) {
+        minIntervalNanos = maxRendersPerSec <= 0 ? 0 : (long) (1_000_000_000L / maxRendersPerSec);
+    }
+
+    void start() { timer.start(); }
+    void stop() { timer.stop(); }
+
+    long getRenderCount() { return renderCount; }
+}
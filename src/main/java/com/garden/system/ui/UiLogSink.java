@@ -0,0 +1,95 @@
+package com.garden.system.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Log pane backend for the UI.
+ * Lines may arrive from any thread; they are queued and drained once per JavaFX pulse
+ * into a single list update, and only the newest {@code maxLines} are kept on screen
+ * (a virtualized ListView, so only visible rows have cells).
+ */
+public class UiLogSink implements Consumer<String> {
+    private final int maxLines;
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong droppedLines = new AtomicLong();
+
+    private final ObservableList<String> lines = FXCollections.observableArrayList();
+    private final ListView<String> view = new ListView<>(lines);
+    private final Label droppedLabel = new Label();
+    private final AnimationTimer pump;
+
+    public UiLogSink(int maxLines) {
+        this.maxLines = maxLines;
+        view.setStyle("-fx-font-family: 'Consolas', monospace; -fx-font-size: 11px;");
+        droppedLabel.setStyle("-fx-font-size: 10px; -fx-text-fill: #777;");
+
+        pump = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                drain();
+            }
+        };
+        // Timers must be started on the FX thread
+        if (Platform.isFxApplicationThread()) pump.start(); else Platform.runLater(pump::start);
+    }
+
+    /** Called by GardenLogger on whatever thread is logging. Never touches the scene graph. */
+    @Override
+    public void accept(String line) {
+        pending.offer(line);
+        // Anything beyond the window would be evicted on the next pulse anyway
+        if (pendingCount.incrementAndGet() > maxLines && pending.poll() != null) {
+            pendingCount.decrementAndGet();
+            droppedLines.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        if (pending.isEmpty()) return;
+
+        List<String> batch = new ArrayList<>(Math.min(pendingCount.get(), maxLines));
+        String line;
+        while ((line = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(line);
+        }
+
+        int overflow = lines.size() + batch.size() - maxLines;
+        if (overflow > 0) {
+            droppedLines.addAndGet(overflow);
+            int fromWindow = Math.min(overflow, lines.size());
+            lines.remove(0, fromWindow);
+            if (overflow > fromWindow) {
+                batch = batch.subList(overflow - fromWindow, batch.size());
+            }
+        }
+        lines.addAll(batch); // one change event per pulse
+        view.scrollTo(lines.size() - 1);
+
+        long dropped = droppedLines.get();
+        if (dropped > 0) {
+            droppedLabel.setText(dropped + " older lines dropped from view (full history in log.txt)");
+        }
+    }
+
+    public ListView<String> getView() { return view; }
+    public Label getDroppedLabel() { return droppedLabel; }
+    public long getDroppedLines() { return droppedLines.get(); }
+
+    public void stop() {
+        pump.stop();
+    }
+}
@@ -0,0 +1,295 @@
+package com.garden.system.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Background writer behind {@link GardenLogger}'s async mode.
+ * Callers enqueue into a bounded lock-free ring buffer (multi-producer, single-consumer);
+ * one daemon thread drains it in batches into a long-lived buffered file channel and
+ * flushes once per batch instead of once per line.
+ */
+public class AsyncLogWriter {
+
+    /** What a producer does when the ring buffer is full. */
+    public enum OverflowPolicy {
+        /** Wait until the writer frees a slot (lossless). */
+        BLOCK,
+        /** Discard the new line and count it. */
+        DROP,
+        /** Keep one of every {@code sampleRate} overflowing lines (waiting for it), drop the rest. */
+        SAMPLE
+    }
+
+    /** Point-in-time view of the writer counters. */
+    public record Stats(long enqueued, long written, long dropped, long batches,
+                        double linesPerSecond, long avgLatencyMicros, long maxLatencyMicros, int queueDepth) {
+        @Override
+        public String toString() {
+            return String.format("enqueued=%d written=%d dropped=%d batches=%d rate=%.0f/s latency(avg=%dus max=%dus) depth=%d",
+                    enqueued, written, dropped, batches, linesPerSecond, avgLatencyMicros, maxLatencyMicros, queueDepth);
+        }
+    }
+
+    private static final int MAX_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    // --- Ring buffer (Vyukov-style bounded queue, one consumer) ---
+    private final int mask;
+    private final AtomicLongArray sequence;
+    private final String[] messages;
+    private final long[] wallMillis;
+    private final long[] enqueueNanos;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // only touched by the writer thread
+
+    private final OverflowPolicy policy;
+    private final int sampleRate;
+    private final Writer out;
+    private final PrintStream console;
+    private final Consumer<String> lineListener;
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+
+    // --- Counters ---
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong overflowSeen = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+    private volatile long written;
+    private volatile long batches;
+    private volatile long totalLatencyNanos;
+    private volatile long maxLatencyNanos;
+
+    /**
+     * @param logFile      file to append to (kept open for the writer's lifetime)
+     * @param capacity     ring size, rounded up to a power of two
+     * @param policy       overflow behaviour when the ring is full
+     * @param sampleRate   for {@link OverflowPolicy#SAMPLE}: keep 1 of every N overflowing lines
+     * @param console      stream that also receives each batch (e.g. System.out); may be null
+     * @param lineListener receives every formatted line on the writer thread (UI); may be null
+     */
+    public AsyncLogWriter(Path logFile, int capacity, OverflowPolicy policy, int sampleRate,
+                          PrintStream console, Consumer<String> lineListener) throws IOException {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.sequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequence.set(i, i);
+        this.messages = new String[size];
+        this.wallMillis = new long[size];
+        this.enqueueNanos = new long[size];
+        this.policy = policy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.lineListener = lineListener;
+        this.console = console;
+
+        FileChannel channel = FileChannel.open(logFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8), 64 * 1024);
+
+        this.writerThread = new Thread(this::drainLoop, "garden-log-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+
+        // Flush whatever is still queued when the JVM exits
+        this.shutdownHook = new Thread(this::close, "garden-log-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Enqueue one message. Never touches the file on the caller's thread.
+     * @return false if the line was dropped by the overflow policy
+     */
+    public boolean submit(String message) {
+        long wall = System.currentTimeMillis();
+        if (offer(message, wall)) return true;
+        if (!running) {
+            dropped.increment();
+            return false;
+        }
+
+        boolean keep = switch (policy) {
+            case BLOCK -> true;
+            case DROP -> false;
+            case SAMPLE -> overflowSeen.getAndIncrement() % sampleRate == 0;
+        };
+        if (!keep) {
+            dropped.increment();
+            return false;
+        }
+        while (!offer(message, wall)) {
+            if (!running) {
+                dropped.increment();
+                return false;
+            }
+            wakeWriter();
+            LockSupport.parkNanos(50_000);
+        }
+        return true;
+    }
+
+    /** False if the ring is full, or if the writer was closed while the slot was claimed. */
+    private boolean offer(String message, long wall) {
+        long pos = tail.get();
+        int idx;
+        while (true) {
+            idx = (int) (pos & mask);
+            long dif = sequence.get(idx) - pos;
+            if (dif == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) break;
+                pos = tail.get();
+            } else if (dif < 0) {
+                return false; // full
+            } else {
+                pos = tail.get();
+            }
+        }
+        if (!running) {
+            // Closed meanwhile: the final drain may be past this slot, so hand it over
+            // empty (the writer skips it) and let the caller count the line as dropped
+            sequence.lazySet(idx, pos + 1);
+            return false;
+        }
+        messages[idx] = message;
+        wallMillis[idx] = wall;
+        enqueueNanos[idx] = System.nanoTime();
+        sequence.lazySet(idx, pos + 1); // publish the slot
+        enqueued.increment();
+        if (writerParked) wakeWriter();
+        return true;
+    }
+
+    private void wakeWriter() {
+        LockSupport.unpark(writerThread);
+    }
+
+    // --- Writer thread ---
+
+    private void drainLoop() {
+        StringBuilder batch = new StringBuilder(16 * 1024);
+        while (running) {
+            if (drainBatch(batch) == 0) {
+                writerParked = true;
+                // Re-check after announcing we are parked so a racing producer is not missed
+                if (isEmpty() && running) LockSupport.parkNanos(IDLE_PARK_NANOS);
+                writerParked = false;
+            }
+        }
+        // Final drain after close(). A producer that claimed a slot before it saw running
+        // go false still publishes it, so wait for every claimed slot instead of stopping
+        // at the first one not yet filled in.
+        while (head != tail.get()) {
+            if (drainBatch(batch) == 0) Thread.onSpinWait();
+        }
+    }
+
+    private boolean isEmpty() {
+        int idx = (int) (head & mask);
+        return sequence.get(idx) - (head + 1) < 0;
+    }
+
+    private int drainBatch(StringBuilder batch) {
+        batch.setLength(0);
+        int count = 0;
+        long latencySum = 0;
+        long latencyMax = maxLatencyNanos;
+        while (count < MAX_BATCH) {
+            int idx = (int) (head & mask);
+            if (sequence.get(idx) - (head + 1) < 0) break; // empty
+
+            String message = messages[idx];
+            if (message == null) {
+                // Slot given up by a producer that raced close()
+                sequence.lazySet(idx, head + mask + 1);
+                head++;
+                continue;
+            }
+            String entry = "[" + TIME_FORMAT.format(Instant.ofEpochMilli(wallMillis[idx])) + "] " + message;
+            long latency = System.nanoTime() - enqueueNanos[idx];
+            messages[idx] = null;
+            sequence.lazySet(idx, head + mask + 1); // hand the slot back to producers
+            head++;
+
+            batch.append(entry).append(System.lineSeparator());
+            if (lineListener != null) lineListener.accept(entry);
+            latencySum += latency;
+            if (latency > latencyMax) latencyMax = latency;
+            count++;
+        }
+        if (count == 0) return 0;
+
+        // Group flush: one write + one flush per batch
+        try {
+            out.append(batch);
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("CRITICAL: Failed to write to log file: " + e.getMessage());
+        }
+        if (console != null) console.print(batch);
+
+        written += count;
+        batches++;
+        totalLatencyNanos += latencySum;
+        maxLatencyNanos = latencyMax;
+        return count;
+    }
+
+    // --- Lifecycle / metrics ---
+
+    /** Stop accepting lines, drain the ring and close the file. Safe to call more than once. */
+    public void close() {
+        if (!running) return;
+        running = false;
+        wakeWriter();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("CRITICAL: Failed to close log file: " + e.getMessage());
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ignored) {
+                // JVM already shutting down
+            }
+        }
+    }
+
+    public int queueDepth() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public Stats stats() {
+        long w = written;
+        double seconds = Math.max(1e-9, (System.nanoTime() - startNanos) / 1e9);
+        long avg = w == 0 ? 0 : totalLatencyNanos / w / 1000;
+        return new Stats(enqueued.sum(), w, dropped.sum(), batches, w / seconds,
+                avg, maxLatencyNanos / 1000, queueDepth());
+    }
+}
@@ -1,19 +1,47 @@
 package com.garden.system.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * Minimal JSON-like parser tailored for garden-config.json structure to avoid extra dependencies.
+ *
+ * parsePlants works on the whole document as a String; streamPlants reads it once from
+ * a Reader and hands each plant to a callback, for catalogs too large to hold in memory.
  */
 public class ConfigParser {
     private static final Pattern OBJECT_PATTERN = Pattern.compile("\\{(.*?)\\}", Pattern.DOTALL);
 
+    /** One plant entry of a catalog; type is null if the entry has none. */
+    public record PlantSpec(String name, String type, int waterRequirement, List<String> pests) { }
+
+    /**
+     * Streams plant entries (innermost objects with a "name") to {@code sink} in document
+     * order. Only the current entry is held in memory.
+     *
+     * @return number of plants emitted
+     * @throws IOException on read errors or malformed JSON; earlier plants have already been emitted
+     */
+    public static long streamPlants(Reader reader, Consumer<PlantSpec> sink) throws IOException {
+        return new StreamingPlantParser(reader, sink).parse();
+    }
+
+    /** UTF-8 variant of {@link #streamPlants(Reader, Consumer)}. */
+    public static long streamPlants(InputStream in, Consumer<PlantSpec> sink) throws IOException {
+        return streamPlants(new InputStreamReader(in, StandardCharsets.UTF_8), sink);
+    }
+
     public static List<Map<String, Object>> parsePlants(String json) {
         if (json == null || json.isBlank()) return List.of();
         List<Map<String, Object>> plants = new ArrayList<>();
@@ -1,43 +1,279 @@
 package com.garden.system.util;
 
+import com.garden.system.metrics.MetricsRegistry;
+
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * Central log. Leveled calls ({@link #logEvent(Level, String, Supplier)},
+ * {@link #log(Level, String, Supplier)}) are filtered by a threshold per module
+ * ("Device", "Sensor", "Monitor", "API", "STATE", "Plant", ...) that falls back to a
+ * global one, both changeable at runtime. Filtered calls return before building
+ * their message, so hot paths pass a Supplier (or check {@link #isLoggable}) and a
+ * WARN-level run skips the per-plant chatter almost for free.
+ *
+ * The global threshold defaults to INFO, or to {@code -Dgarden.log.level=SPEC} (see
+ * {@link #configure}).
+ */
 public class GardenLogger {
-    private static final String LOG_FILE = "log.txt";
-    // A 'listener' that the UI can hook into
-    private static Consumer<String> uiCallback;
 
+    /** Severity, lowest first. A line is written when it is at or above its module's threshold. */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR;
+
+        /** Level for a level name as used by logEvent(String, ...); unknown names count as INFO. */
+        public static Level parse(String name) {
+            if (name == null) return INFO;
+            return switch (name) {
+                case "DEBUG", "TRACE" -> DEBUG;
+                case "INFO" -> INFO;
+                case "WARN", "WARNING" -> WARN;
+                case "ERROR", "CRITICAL", "FATAL" -> ERROR;
+                default -> name.equals(name.toUpperCase()) ? INFO : parse(name.toUpperCase());
+            };
+        }
+    }
+
+    /** Capture sink that silences a thread and also skips building its leveled messages. */
+    public static final Consumer<String> MUTE = line -> { };
+
+    private static volatile String logFile = "log.txt";
+    private static volatile boolean consoleEcho = true;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    // A 'listener' that the UI can hook into; invoked on the logging thread
+    private static volatile Consumer<String> uiCallback;
+    // Non-null while async mode is on; see enableAsync
+    private static volatile AsyncLogWriter asyncWriter;
+    // Global off switch for throughput runs (headless simulation)
+    private static volatile boolean enabled = true;
+    // Per-thread redirect used by parallel work to buffer lines and replay them in order
+    private static final ThreadLocal<Consumer<String>> threadCapture = new ThreadLocal<>();
+    // Per-thread tag (e.g. garden id) prefixed to every line, for multi-garden processes
+    private static final ThreadLocal<String> context = new ThreadLocal<>();
+    // Global threshold and per-module overrides (module names are case-sensitive, as logged)
+    private static volatile Level threshold = Level.INFO;
+    private static final Map<String, Level> moduleThresholds = new ConcurrentHashMap<>();
+
+    static {
+        String spec = System.getProperty("garden.log.level");
+        if (spec != null) configure(spec);
+        MetricsRegistry.global().gauge("log.queueDepth", GardenLogger::getQueueDepth);
+    }
+
+    // --- Levels ---
+
+    /** Sets the global threshold (modules without their own threshold use it). */
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    /** Sets one module's threshold; null makes it follow the global one again. */
+    public static void setLevel(String module, Level level) {
+        if (level == null) moduleThresholds.remove(module);
+        else moduleThresholds.put(module, level);
+    }
+
+    /** Effective threshold of a module. */
+    public static Level getLevel(String module) {
+        return module == null ? threshold : moduleThresholds.getOrDefault(module, threshold);
+    }
+
+    /**
+     * Applies a threshold spec such as {@code "WARN"} or {@code "WARN,Device=DEBUG,API=ERROR"}:
+     * a bare level sets the global threshold, {@code module=LEVEL} one module's.
+     *
+     * @throws IllegalArgumentException on an unknown level name
+     */
+    public static void configure(String spec) {
+        for (String part : spec.split(",")) {
+            String entry = part.trim();
+            if (entry.isEmpty()) continue;
+            int eq = entry.indexOf('=');
+            if (eq < 0) {
+                setLevel(Level.valueOf(entry.toUpperCase()));
+            } else {
+                setLevel(entry.substring(0, eq).trim(), Level.valueOf(entry.substring(eq + 1).trim().toUpperCase()));
+            }
+        }
+    }
+
+    /** Whether a line of this level and module would be written by this thread. */
+    public static boolean isLoggable(Level level, String module) {
+        if (!enabled) return false;
+        Level min = moduleThresholds.isEmpty() ? threshold : getLevel(module);
+        return level.compareTo(min) >= 0 && threadCapture.get() != MUTE;
+    }
+
+    // --- Leveled logging ---
+
+    /**
+     * "[LEVEL][module] message"; the level name is parsed with {@link Level#parse}.
+     * @deprecated pass a {@link Level}: a misspelled name silently logs at INFO
+     */
+    @Deprecated
     public static void logEvent(String level, String module, String message) {
-        log("[" + level + "][" + module + "] " + message);
+        logEvent(Level.parse(level), module, message);
+    }
+
+    public static void logEvent(Level level, String module, String message) {
+        if (isLoggable(level, module)) log("[" + level + "][" + module + "] " + message);
     }
 
+    /** As logEvent, but the message is only built when the line will be written. */
+    public static void logEvent(Level level, String module, Supplier<String> message) {
+        if (isLoggable(level, module)) log("[" + level + "][" + module + "] " + message.get());
+    }
+
+    /** An unprefixed line (the "WARNING: ..." style) filtered by level and module. */
+    public static void log(Level level, String module, String message) {
+        if (isLoggable(level, module)) log(message);
+    }
+
+    /** As log(Level, String, String), but the message is only built when the line will be written. */
+    public static void log(Level level, String module, Supplier<String> message) {
+        if (isLoggable(level, module)) log(message.get());
+    }
+
+    // --- Output ---
+
+    /**
+     * Register the UI log sink. The callback runs on whichever thread logs (or the async
+     * writer thread), so it must hand lines over to the FX thread itself.
+     */
     public static void setUiCallback(Consumer<String> callback) {
         uiCallback = callback;
     }
 
+    /** Log file path (default log.txt). Takes effect for async mode on the next enableAsync(). */
+    public static void setLogFile(String path) {
+        logFile = path;
+    }
+
+    /** Whether lines are also printed to stdout (default true). */
+    public static void setConsoleEcho(boolean echo) {
+        consoleEcho = echo;
+    }
+
+    /**
+     * Switch to async mode: log() only enqueues, and a single background thread
+     * batches lines into log.txt, the console and the UI. Pending lines are flushed
+     * on disableAsync() or JVM shutdown.
+     */
+    public static synchronized void enableAsync(int capacity, AsyncLogWriter.OverflowPolicy policy, int sampleRate) {
+        if (asyncWriter != null) return;
+        try {
+            asyncWriter = new AsyncLogWriter(Path.of(logFile), capacity, policy, sampleRate,
+                    consoleEcho ? System.out : null, GardenLogger::publishToUi);
+        } catch (IOException e) {
+            System.err.println("CRITICAL: Failed to open log file for async logging: " + e.getMessage());
+        }
+    }
+
+    /** Flush pending lines and go back to synchronous logging. */
+    public static synchronized void disableAsync() {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer == null) return;
+        asyncWriter = null;
+        writer.close();
+    }
+
+    /** Writer counters, or null when async mode is off. */
+    public static AsyncLogWriter.Stats getAsyncStats() {
+        AsyncLogWriter writer = asyncWriter;
+        return writer == null ? null : writer.stats();
+    }
+
+    /** Lines waiting for the async writer (0 in sync mode). */
+    public static int getQueueDepth() {
+        AsyncLogWriter writer = asyncWriter;
+        return writer == null ? 0 : writer.queueDepth();
+    }
+
+    /**
+     * Redirect this thread's log() calls (raw messages, before timestamping) into a sink,
+     * or restore normal output with null. Returns the previous sink so callers can nest.
+     * {@link #MUTE} silences the thread.
+     */
+    public static Consumer<String> captureThread(Consumer<String> sink) {
+        Consumer<String> previous = threadCapture.get();
+        if (sink == null) threadCapture.remove(); else threadCapture.set(sink);
+        return previous;
+    }
+
+    /**
+     * Tag this thread's lines as "[context] message" (null clears it). Returns the previous
+     * tag. Lines captured by parallel workers pick up the tag when they are replayed.
+     */
+    public static String setContext(String tag) {
+        String previous = context.get();
+        if (tag == null) context.remove(); else context.set(tag);
+        return previous;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /** True while this thread's output goes to {@link #MUTE}. */
+    public static boolean isThreadMuted() {
+        return threadCapture.get() == MUTE;
+    }
+
+    /**
+     * Writes a line as is, without level filtering: for lines that were already filtered
+     * (e.g. replayed from a tick-engine worker's buffer) or carry no level.
+     */
     public static void log(String message) {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
-        String logEntry = String.format("[%s] %s", timestamp, message);
+        if (!enabled) return;
+        Consumer<String> capture = threadCapture.get();
+        if (capture != null) {
+            capture.accept(message);
+            return;
+        }
+
+        String tag = context.get();
+        if (tag != null) message = "[" + tag + "] " + message;
+
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.submit(message);
+            return;
+        }
 
-        System.out.println(logEntry); // Console
+        String timestamp = LocalDateTime.now().format(TIME_FORMAT);
+        String logEntry = "[" + timestamp + "] " + message;
+
+        if (consoleEcho) System.out.println(logEntry); // Console
 
         // Write to File
-        try (FileWriter fw = new FileWriter(LOG_FILE, true);
+        try (FileWriter fw = new FileWriter(logFile, true);
              PrintWriter pw = new PrintWriter(fw)) {
             pw.println(logEntry);
         } catch (IOException e) {
             System.err.println("CRITICAL: Failed to write to log file: " + e.getMessage());
         }
 
+        publishToUi(logEntry);
+    }
+
+    private static void publishToUi(String logEntry) {
         // Send to UI if connected
-        if (uiCallback != null) {
-            // Ensure UI updates happen on the correct thread
-            javafx.application.Platform.runLater(() -> uiCallback.accept(logEntry));
+        Consumer<String> callback = uiCallback;
+        if (callback != null) {
+            callback.accept(logEntry);
         }
     }
 }
@@ -0,0 +1,17 @@
+package com.garden.system.util;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Garden summary delivered to monitors, read once per heartbeat from the store's
+ * running totals (O(1) in garden size) and shared by every client.
+ *
+ * @param healthBuckets alive plants per health decile: [0] = 0-9, ..., [9] = 90-100
+ * @param pestCounts    alive infested plants per pest name (pests with none are omitted)
+ * @param waterDeficit  sum over alive plants of how far water is below requirement
+ */
+public record HeartbeatSnapshot(int dayCount, int totalPlants, long alivePlants,
+                                List<Integer> healthBuckets, Map<String, Long> pestCounts,
+                                long waterDeficit, long takenAtMillis) {
+}
@@ -0,0 +1,93 @@
+package com.garden.system.util;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Map;
+
+/**
+ * Compact JSON serializer (no whitespace) for API responses, the counterpart of
+ * ConfigParser. Handles null, booleans, numbers, strings, enums, maps, iterables,
+ * arrays of objects and records (by component name).
+ */
+public class JsonWriter {
+
+    public static String toJson(Object value) {
+        StringBuilder sb = new StringBuilder();
+        write(sb, value);
+        return sb.toString();
+    }
+
+    public static void write(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            sb.append(value);
+        } else if (value instanceof Number n) {
+            double d = n.doubleValue();
+            if (Double.isFinite(d)) sb.append(value); else sb.append("null");
+        } else if (value instanceof Map<?, ?> map) {
+            sb.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                if (!first) sb.append(',');
+                first = false;
+                writeString(sb, String.valueOf(e.getKey()));
+                sb.append(':');
+                write(sb, e.getValue());
+            }
+            sb.append('}');
+        } else if (value instanceof Iterable<?> items) {
+            sb.append('[');
+            boolean first = true;
+            for (Object item : items) {
+                if (!first) sb.append(',');
+                first = false;
+                write(sb, item);
+            }
+            sb.append(']');
+        } else if (value instanceof Object[] items) {
+            write(sb, java.util.Arrays.asList(items));
+        } else if (value instanceof Record record) {
+            writeRecord(sb, record);
+        } else if (value instanceof Enum<?> e) {
+            writeString(sb, e.name());
+        } else {
+            writeString(sb, value.toString());
+        }
+    }
+
+    private static void writeRecord(StringBuilder sb, Record record) {
+        sb.append('{');
+        RecordComponent[] components = record.getClass().getRecordComponents();
+        for (int i = 0; i < components.length; i++) {
+            if (i > 0) sb.append(',');
+            writeString(sb, components[i].getName());
+            sb.append(':');
+            try {
+                write(sb, components[i].getAccessor().invoke(record));
+            } catch (ReflectiveOperationException e) {
+                sb.append("null");
+            }
+        }
+        sb.append('}');
+    }
+
+    public static void writeString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -1,36 +1,177 @@
 package com.garden.system.util;
 
 import com.garden.system.manager.GardenManager;
-import com.garden.system.model.Plant;
+import com.garden.system.metrics.Counter;
+import com.garden.system.metrics.MetricsRegistry;
+import com.garden.system.metrics.MetricsSnapshot;
+import com.garden.system.model.GardenAggregates;
+import com.garden.system.util.GardenLogger.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Simple monitoring hook to track long-running stability.
- * For now it just logs a heartbeat; can be swapped with TA-provided API later.
+ * Monitoring hook to track long-running stability. Each heartbeat is logged (plus a
+ * metrics dump when "Metrics" is at DEBUG) and fanned out to any number of monitors.
+ *
+ * heartbeat() only computes one HeartbeatSnapshot (when some client is due) and offers
+ * it to each due client's bounded queue; delivery runs on a shared virtual-thread
+ * executor, one drain at a time per client so each sees its heartbeats in order. A slow
+ * or stuck monitor never stalls the simulation: when its queue is full the oldest
+ * pending heartbeat is dropped (counted in monitor.dropped).
  */
 public class MonitoringService {
     public interface MonitorClient {
         void onHeartbeat(int dayCount, int totalPlants, long alivePlants);
+
+        /** Full snapshot; by default forwards the counts to onHeartbeat(int, int, long). */
+        default void onHeartbeat(HeartbeatSnapshot snapshot) {
+            onHeartbeat(snapshot.dayCount(), snapshot.totalPlants(), snapshot.alivePlants());
+        }
+    }
+
+    /** Delivery counters of one registered client. */
+    public record ClientStats(int everyDays, long delivered, long dropped, int pending) {
     }
 
-    private MonitorClient client;
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+    private static final ExecutorService DELIVERY = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Counter DELIVERED = MetricsRegistry.global().counter("monitor.delivered");
+    private static final Counter DROPPED = MetricsRegistry.global().counter("monitor.dropped");
 
+    private final GardenManager manager;
+    private final List<Subscription> clients = new CopyOnWriteArrayList<>();
+
+    /** Monitors the given garden (each garden in a GardenRegistry has its own). */
+    public MonitoringService(GardenManager manager) {
+        this.manager = manager;
+    }
+
+    /** Registers a client for every heartbeat. */
     public void registerMonitorClient(MonitorClient client) {
-        this.client = client;
-        GardenLogger.logEvent("INFO", "Monitor", "External monitor registered");
+        registerMonitorClient(client, 1, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Registers a client for the heartbeats of days divisible by {@code everyDays}, with
+     * up to {@code queueCapacity} undelivered heartbeats held for it.
+     */
+    public void registerMonitorClient(MonitorClient client, int everyDays, int queueCapacity) {
+        if (everyDays < 1) throw new IllegalArgumentException("everyDays must be >= 1: " + everyDays);
+        if (queueCapacity < 1) throw new IllegalArgumentException("queueCapacity must be >= 1: " + queueCapacity);
+        clients.add(new Subscription(client, everyDays, queueCapacity));
+        GardenLogger.logEvent(Level.INFO, "Monitor", () -> "External monitor registered (every " + everyDays + " day(s))");
+    }
+
+    /**
+     * Stops delivering to a client; heartbeats already queued for it are discarded. A call
+     * to onHeartbeat already in progress on the delivery thread still completes.
+     */
+    public boolean unregisterMonitorClient(MonitorClient client) {
+        boolean removed = false;
+        for (Subscription s : clients) {
+            if (s.client == client && clients.remove(s)) {
+                s.close();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /** Per-client delivery counters, in registration order. */
+    public List<ClientStats> clientStats() {
+        List<ClientStats> stats = new ArrayList<>(clients.size());
+        for (Subscription s : clients) {
+            stats.add(new ClientStats(s.everyDays, s.delivered.get(), s.dropped.get(), s.queue.size()));
+        }
+        return stats;
+    }
+
+    /** Current counters, gauges and latency histograms (shared by every garden in the process). */
+    public MetricsSnapshot metrics() {
+        return MetricsRegistry.global().snapshot();
     }
 
     public void heartbeat(int dayCount) {
-        GardenManager manager = GardenManager.getInstance();
-        int plants = manager.getPlants().size();
-        long alive = manager.getPlants().stream().filter(Plant::isAlive).count();
-        GardenLogger.logEvent("INFO", "Monitor",
-                String.format("Heartbeat day=%d plants=%d alive=%d", dayCount, plants, alive));
-        if (client != null) {
-            try {
-                client.onHeartbeat(dayCount, plants, alive);
-            } catch (Exception e) {
-                GardenLogger.logEvent("ERROR", "Monitor", "External monitor failed: " + e.getMessage());
+        int plants = manager.getStore().size();
+        long alive = manager.getAliveCount();
+        GardenLogger.logEvent(Level.INFO, "Monitor",
+                () -> "Heartbeat day=" + dayCount + " plants=" + plants + " alive=" + alive);
+        GardenLogger.logEvent(Level.DEBUG, "Metrics", () -> "Day " + dayCount + "\n" + MetricsRegistry.global().dump());
+
+        HeartbeatSnapshot snapshot = null;
+        for (Subscription s : clients) {
+            if (dayCount % s.everyDays != 0) continue;
+            if (snapshot == null) snapshot = snapshot(dayCount);
+            s.offer(snapshot);
+        }
+    }
+
+    /** Summary of the garden right now, from the store's running totals. */
+    public HeartbeatSnapshot snapshot(int dayCount) {
+        GardenAggregates totals = manager.getAggregates();
+        return new HeartbeatSnapshot(dayCount, totals.plants(), totals.alive(), totals.healthBuckets(),
+                totals.pestCounts(), totals.waterDeficit(), System.currentTimeMillis());
+    }
+
+    // --- Delivery ---
+
+    private static final class Subscription {
+        final MonitorClient client;
+        final int everyDays;
+        final BlockingQueue<HeartbeatSnapshot> queue;
+        // Set while a drain task is queued or running; keeps delivery serial per client
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicLong delivered = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        // Set on unregister: offers are ignored and a queued or running drain stops
+        volatile boolean closed;
+
+        Subscription(MonitorClient client, int everyDays, int capacity) {
+            this.client = client;
+            this.everyDays = everyDays;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /** Called on the simulation thread; never blocks. */
+        void offer(HeartbeatSnapshot snapshot) {
+            if (closed) return;
+            while (!queue.offer(snapshot)) {
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                    DROPPED.increment();
+                }
             }
+            if (draining.compareAndSet(false, true)) DELIVERY.execute(this::drain);
+        }
+
+        void close() {
+            closed = true;
+            queue.clear();
+        }
+
+        private void drain() {
+            do {
+                HeartbeatSnapshot next;
+                while (!closed && (next = queue.poll()) != null) {
+                    try {
+                        client.onHeartbeat(next);
+                        delivered.incrementAndGet();
+                        DELIVERED.increment();
+                    } catch (Exception e) {
+                        GardenLogger.logEvent(Level.ERROR, "Monitor", () -> "External monitor failed: " + e.getMessage());
+                    }
+                }
+                draining.set(false);
+                // A heartbeat offered after the last poll but before the reset has no drain yet
+            } while (!closed && !queue.isEmpty() && draining.compareAndSet(false, true));
         }
     }
 }
@@ -0,0 +1,266 @@
+package com.garden.system.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass JSON tokenizer behind {@link ConfigParser#streamPlants}. Reads the input
+ * once through a fixed 8K buffer and emits each innermost object that has a "name" as
+ * a plant (the same objects the regex parser picks up), so memory does not grow with
+ * the size of the catalog. Keys are matched without allocating, and repeated type/pest
+ * strings are shared through a small cache.
+ */
+final class StreamingPlantParser {
+    private static final int DEFAULT_WATER = 10;
+    private static final int MAX_DEPTH = 512;
+
+    // Field keys we care about; anything else is skipped
+    private static final int KEY_OTHER = 0, KEY_NAME = 1, KEY_TYPE = 2, KEY_WATER = 3, KEY_PESTS = 4;
+
+    private final Reader in;
+    private final Consumer<ConfigParser.PlantSpec> sink;
+    private final char[] buf = new char[8192];
+    private int pos;
+    private int limit;
+    private long offset; // chars consumed before buf[0], for error messages
+    private final StringBuilder sb = new StringBuilder();
+    private final String[] stringCache = new String[256];
+    private int depth;
+    private long emitted;
+
+    StreamingPlantParser(Reader in, Consumer<ConfigParser.PlantSpec> sink) {
+        this.in = in;
+        this.sink = sink;
+    }
+
+    long parse() throws IOException {
+        int c = next();
+        if (c == -1) return 0;
+        value(c);
+        if (next() != -1) throw error("Unexpected content after the document");
+        return emitted;
+    }
+
+    // --- Values. Each returns true if the value was or contained an object. ---
+
+    private boolean value(int c) throws IOException {
+        switch (c) {
+            case '{':
+                object();
+                return true;
+            case '[':
+                return array(null);
+            case '"':
+                skipString();
+                return false;
+            default:
+                literal(c);
+                return false;
+        }
+    }
+
+    private void object() throws IOException {
+        if (++depth > MAX_DEPTH) throw error("Nesting deeper than " + MAX_DEPTH);
+        String name = null;
+        String type = null;
+        int water = DEFAULT_WATER;
+        List<String> pests = null;
+        boolean nested = false;
+
+        int c = next();
+        if (c != '}') {
+            while (true) {
+                if (c != '"') throw error("Expected a field name");
+                int key = readKey();
+                if (next() != ':') throw error("Expected ':'");
+                c = next();
+                switch (key) {
+                    case KEY_NAME:
+                        if (c == '"') name = readString(false); else nested |= value(c);
+                        break;
+                    case KEY_TYPE:
+                        if (c == '"') type = readString(true); else nested |= value(c);
+                        break;
+                    case KEY_WATER:
+                        if (c == '-' || (c >= '0' && c <= '9')) water = readWater(c); else nested |= value(c);
+                        break;
+                    case KEY_PESTS:
+                        if (c == '[') {
+                            pests = new ArrayList<>(2);
+                            nested |= array(pests);
+                        } else {
+                            nested |= value(c);
+                        }
+                        break;
+                    default:
+                        nested |= value(c);
+                }
+                c = next();
+                if (c == '}') break;
+                if (c != ',') throw error("Expected ',' or '}'");
+                c = next();
+            }
+        }
+        depth--;
+
+        if (!nested && name != null) {
+            emitted++;
+            sink.accept(new ConfigParser.PlantSpec(name, type, water, pests == null ? List.of() : pests));
+        }
+    }
+
+    /** Parses an array; string elements go into {@code strings} when it is non-null. */
+    private boolean array(List<String> strings) throws IOException {
+        if (++depth > MAX_DEPTH) throw error("Nesting deeper than " + MAX_DEPTH);
+        boolean nested = false;
+        int c = next();
+        if (c != ']') {
+            while (true) {
+                if (c == '"' && strings != null) {
+                    strings.add(readString(true));
+                } else {
+                    nested |= value(c);
+                }
+                c = next();
+                if (c == ']') break;
+                if (c != ',') throw error("Expected ',' or ']'");
+                c = next();
+            }
+        }
+        depth--;
+        return nested;
+    }
+
+    // --- Tokens ---
+
+    private int readKey() throws IOException {
+        readRaw();
+        if (contentEquals("name")) return KEY_NAME;
+        if (contentEquals("type")) return KEY_TYPE;
+        if (contentEquals("waterRequirement")) return KEY_WATER;
+        if (contentEquals("pests")) return KEY_PESTS;
+        return KEY_OTHER;
+    }
+
+    private boolean contentEquals(String s) {
+        if (sb.length() != s.length()) return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (sb.charAt(i) != s.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /** String after the opening quote; {@code shared} reuses an equal cached instance. */
+    private String readString(boolean shared) throws IOException {
+        readRaw();
+        if (!shared) return sb.toString();
+        int hash = 0;
+        for (int i = 0; i < sb.length(); i++) hash = 31 * hash + sb.charAt(i);
+        int slot = (hash ^ (hash >>> 16)) & (stringCache.length - 1);
+        String cached = stringCache[slot];
+        if (cached != null && contentEquals(cached)) return cached;
+        String s = sb.toString();
+        stringCache[slot] = s;
+        return s;
+    }
+
+    private void skipString() throws IOException {
+        readRaw();
+    }
+
+    /** Reads a string body (after the opening quote) into sb, decoding escapes. */
+    private void readRaw() throws IOException {
+        sb.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == '"') return;
+            if (c == -1) throw error("Unterminated string");
+            if (c == '\\') {
+                int e = read();
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append((char) e);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int d = Character.digit(read(), 16);
+                            if (d < 0) throw error("Bad \\u escape");
+                            code = code * 16 + d;
+                        }
+                        sb.append((char) code);
+                    }
+                    default -> throw error("Bad escape");
+                }
+            } else {
+                sb.append((char) c);
+            }
+        }
+    }
+
+    /** Integer part of a number; negative values fall back to the default, as before. */
+    private int readWater(int c) throws IOException {
+        boolean negative = c == '-';
+        long value = 0;
+        boolean digits = false;
+        if (negative) c = read();
+        while (c >= '0' && c <= '9') {
+            digits = true;
+            if (value < Integer.MAX_VALUE) value = value * 10 + (c - '0');
+            c = read();
+        }
+        // Fraction/exponent: ignored
+        while (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-' || (c >= '0' && c <= '9')) c = read();
+        unread();
+        if (!digits) throw error("Bad number");
+        return negative ? DEFAULT_WATER : (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    private void literal(int c) throws IOException {
+        if (c == -1) throw error("Unexpected end of input");
+        if (c != '-' && c != '+' && c != '.' && !Character.isLetterOrDigit(c)) throw error("Unexpected '" + (char) c + "'");
+        do {
+            c = read();
+        } while (c != -1 && (c == '-' || c == '+' || c == '.' || Character.isLetterOrDigit(c)));
+        unread();
+    }
+
+    // --- Input ---
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            offset += limit;
+            limit = in.read(buf, 0, buf.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buf[pos++];
+    }
+
+    /** Step back over the last char read (only valid right after a read() that returned a char). */
+    private void unread() {
+        if (limit > 0 && pos > 0) pos--;
+    }
+
+    /** Next non-whitespace char, or -1 at the end. */
+    private int next() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+        return c;
+    }
+
+    private IOException error(String message) {
+        return new IOException("Malformed config at char " + (offset + pos) + ": " + message);
+    }
+}
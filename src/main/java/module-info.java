@@ -3,6 +3,9 @@ module com.garden.system {
     requires javafx.fxml;
     requires javafx.graphics; // Explicitly require for Stage and other graphics classes
     requires java.desktop; // Sometimes needed for logging
+    requires java.management; // Heap stats for the headless runner
+    requires jdk.httpserver; // Embedded localhost API server
+    requires java.net.http; // Load generator client
 
     // This grants JavaFX permission to run your GUI
     opens com.garden.system.ui to javafx.fxml;
@@ -11,4 +14,8 @@ module com.garden.system {
     exports com.garden.system.api;
     exports com.garden.system.ui;
     exports com.garden.system.util;
+    exports com.garden.system.sim;
+    exports com.garden.system.server;
+    exports com.garden.system.persist;
+    exports com.garden.system.metrics;
 }